@@ -0,0 +1,85 @@
+#!/usr/bin/env bash
+#
+# Compares the platform-thread and virtual-thread execution modes (spring.threads.virtual.enabled).
+#
+# For each mode the script starts the packaged application against the local infrastructure
+# (docker compose up postgres-db elasticsearch-node kafka-broker ...), waits for it to become healthy and drives
+# the command path (POST /api/v1/alerts) and the query paths (GET /api/v1/alerts, GET /api/v1/alerts/search)
+# with `hey` (https://github.com/rakyll/hey) at a concurrency above Tomcat's default 200 platform threads.
+#
+# No results are checked in and neither mode is claimed to be faster: the outcome depends on the infrastructure
+# (database pool size, Elasticsearch and Kafka latency), so run it where the application will be deployed.
+#
+# Usage: mvn -DskipTests package && benchmarks/virtual-threads.sh
+# Tunables (environment): CONCURRENCY, REQUESTS, PORT, PROFILE, JAR, RESULTS_DIR
+set -euo pipefail
+
+CONCURRENCY="${CONCURRENCY:-400}"
+REQUESTS="${REQUESTS:-20000}"
+PORT="${PORT:-7676}"
+PROFILE="${PROFILE:-dev}"
+JAR="${JAR:-$(ls target/*.jar | grep -v plain | head -n 1)}"
+RESULTS_DIR="${RESULTS_DIR:-target/benchmarks}"
+BASE_URL="http://localhost:${PORT}"
+
+command -v hey >/dev/null || { echo "hey is required: go install github.com/rakyll/hey@latest" >&2; exit 1; }
+mkdir -p "${RESULTS_DIR}"
+
+CREATE_BODY='{"severity":"HIGH","description":"Benchmark alert","source":"benchmark","details":{"host":"bench-01"}}'
+
+wait_until_healthy() {
+  for _ in $(seq 1 120); do
+    if curl -fs "${BASE_URL}/actuator/health" | grep -q '"UP"'; then
+      return 0
+    fi
+    sleep 1
+  done
+  echo "Application did not become healthy" >&2
+  return 1
+}
+
+run_mode() {
+  local mode="$1" virtual="$2"
+  local out="${RESULTS_DIR}/${mode}"
+  mkdir -p "${out}"
+
+  echo "== ${mode} threads (spring.threads.virtual.enabled=${virtual})"
+  java -jar "${JAR}" --spring.profiles.active="${PROFILE}" --server.port="${PORT}" \
+       --spring.threads.virtual.enabled="${virtual}" --logging.level.template.cqrs=INFO \
+       > "${out}/application.log" 2>&1 &
+  local pid=$!
+  trap "kill ${pid} 2>/dev/null || true" EXIT
+  wait_until_healthy
+
+  # Warm-up (JIT, connection pools), not recorded
+  hey -n 2000 -c 50 -m POST -T application/json -d "${CREATE_BODY}" "${BASE_URL}/api/v1/alerts" > /dev/null
+
+  hey -n "${REQUESTS}" -c "${CONCURRENCY}" -m POST -T application/json -d "${CREATE_BODY}" \
+      "${BASE_URL}/api/v1/alerts" > "${out}/commands.txt"
+  hey -n "${REQUESTS}" -c "${CONCURRENCY}" "${BASE_URL}/api/v1/alerts?size=20" > "${out}/list.txt"
+  hey -n "${REQUESTS}" -c "${CONCURRENCY}" "${BASE_URL}/api/v1/alerts/search?keyword=benchmark&size=20" > "${out}/search.txt"
+
+  kill "${pid}"
+  wait "${pid}" 2>/dev/null || true
+  trap - EXIT
+}
+
+summary() {
+  local mode="$1" scenario="$2" file="${RESULTS_DIR}/$1/$2.txt"
+  local rps p99 errors
+  rps=$(awk '/Requests\/sec/ {print $2}' "${file}")
+  p99=$(awk '/99% in/ {print $3}' "${file}")
+  errors=$(awk '/Status code distribution/ {on=1; next} on && /\[[0-9]+\]/ && $1 !~ /\[2/ {n+=$2} END {print n+0}' "${file}")
+  printf "%-9s %-9s %12s %12s %8s\n" "${mode}" "${scenario}" "${rps}" "${p99}" "${errors}"
+}
+
+run_mode platform false
+run_mode virtual true
+
+printf "\n%-9s %-9s %12s %12s %8s\n" "mode" "scenario" "req/s" "p99 (s)" "non-2xx"
+for mode in platform virtual; do
+  for scenario in commands list search; do
+    summary "${mode}" "${scenario}"
+  done
+done
+echo "Raw hey reports and application logs: ${RESULTS_DIR}"
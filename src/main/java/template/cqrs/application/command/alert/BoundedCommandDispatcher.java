@@ -0,0 +1,104 @@
+package template.cqrs.application.command.alert;
+
+import jakarta.annotation.PreDestroy;
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Sends many commands through the {@link CommandGateway} concurrently, with at most
+ * {@code app.command.bulk.max-in-flight} of them in flight per {@link Window} and at most
+ * {@code app.command.bulk.max-in-flight-total} across all windows of this instance.
+ * <p>
+ * Every command is sent from its own virtual thread, whatever the command bus: Axon's default
+ * {@code SimpleCommandBus} handles a command on the sending thread, so sending from the caller's thread would run
+ * the window one command at a time. The caller's thread blocks while its window or the instance-wide limit is
+ * full, so a bulk request or an ingestion stream is paced by how fast commands complete and never queues more work
+ * than the window. Each request gets its own window, so one large bulk request cannot starve the others of
+ * permits; the instance-wide limit keeps concurrent bulk requests from together exhausting the event store's JDBC
+ * connection pool.
+ */
+@Component
+public class BoundedCommandDispatcher {
+
+    private final CommandGateway commandGateway;
+    private final int maxInFlight;
+    private final Semaphore totalPermits;
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bulk-command-", 0).factory());
+
+    public BoundedCommandDispatcher(CommandGateway commandGateway,
+                                    @Value("${app.command.bulk.max-in-flight:32}") int maxInFlight,
+                                    @Value("${app.command.bulk.max-in-flight-total:64}") int maxInFlightTotal) {
+        this.commandGateway = commandGateway;
+        this.maxInFlight = maxInFlight;
+        this.totalPermits = new Semaphore(maxInFlightTotal, true);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+
+    public Window openWindow() {
+        return new Window(new Semaphore(maxInFlight));
+    }
+
+    /**
+     * Dispatches all commands through one window.
+     *
+     * @return one future per command, in command order; failed commands complete exceptionally
+     */
+    public List<CompletableFuture<Object>> dispatchAll(List<?> commands) throws InterruptedException {
+        Window window = openWindow();
+        List<CompletableFuture<Object>> results = new ArrayList<>(commands.size());
+        for (Object command : commands) {
+            results.add(window.send(command));
+        }
+        return results;
+    }
+
+    public final class Window {
+
+        private final Semaphore permits;
+
+        private Window(Semaphore permits) {
+            this.permits = permits;
+        }
+
+        /**
+         * Sends a command on a virtual thread once a window permit and an instance-wide permit are free, blocking
+         * until then. Both permits are returned when the command completes, successfully or not.
+         */
+        public CompletableFuture<Object> send(Object command) throws InterruptedException {
+            permits.acquire();
+            try {
+                totalPermits.acquire();
+            } catch (InterruptedException e) {
+                permits.release();
+                throw e;
+            }
+            CompletableFuture<Object> result;
+            try {
+                result = CompletableFuture.supplyAsync(() -> commandGateway.<Object>send(command), executor)
+                        .thenCompose(sent -> sent);
+            } catch (RuntimeException e) {
+                release();
+                return CompletableFuture.failedFuture(e);
+            }
+            return result.whenComplete((value, failure) -> release());
+        }
+
+        private void release() {
+            totalPermits.release();
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package template.cqrs.application.query.alert;
+
+/**
+ * Thrown when a cursor's point-in-time is gone on the Elasticsearch side, because it was idle for longer than
+ * {@code app.query.cursor.keep-alive-ms} or the node holding it restarted. The client has to start over with an
+ * empty cursor.
+ */
+public class AlertCursorExpiredException extends RuntimeException {
+
+    public AlertCursorExpiredException(Throwable cause) {
+        super("Search cursor expired; start again with an empty cursor", cause);
+    }
+}
@@ -0,0 +1,43 @@
+package template.cqrs.application.query.alert;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Detail filters of the alert search queries: exact matches on {@code AlertDetails} keys, written as
+ * {@code key:value} request parameters. Nested keys use dots ({@code labels.team:core}).
+ */
+public final class AlertDetailFilters {
+
+    private static final Pattern KEY = Pattern.compile("[A-Za-z0-9_-]+(\\.[A-Za-z0-9_-]+)*");
+
+    private AlertDetailFilters() {
+    }
+
+    /**
+     * Parses {@code key:value} filters into a key-to-value map.
+     *
+     * @return the filters, or {@code null} when there are none
+     * @throws IllegalArgumentException for a filter without a value or a key with unsupported characters
+     */
+    public static Map<String, String> parse(List<String> filters) {
+        if (filters == null || filters.isEmpty()) {
+            return null;
+        }
+        Map<String, String> parsed = new LinkedHashMap<>();
+        for (String filter : filters) {
+            int separator = filter.indexOf(':');
+            if (separator <= 0 || separator == filter.length() - 1) {
+                throw new IllegalArgumentException("Invalid detail filter: " + filter + ", expected key:value");
+            }
+            String key = filter.substring(0, separator).trim();
+            if (!KEY.matcher(key).matches()) {
+                throw new IllegalArgumentException("Invalid detail key: " + key);
+            }
+            parsed.put(key, filter.substring(separator + 1));
+        }
+        return parsed;
+    }
+}
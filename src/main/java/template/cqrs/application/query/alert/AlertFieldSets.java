@@ -0,0 +1,57 @@
+package template.cqrs.application.query.alert;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Field selections for alert list queries. A selection is a list of {@code AlertDto} property names; {@code null}
+ * means the full DTO. The read model fetches only the selected fields from Elasticsearch, so list views that do
+ * not need {@code details} or {@code latestNote} never load them.
+ */
+public final class AlertFieldSets {
+
+    /** Columns of the alert table view. */
+    public static final List<String> SUMMARY = List.of(
+            "alertId", "severity", "status", "description", "source", "assignee", "createdAt", "updatedAt");
+
+    public static final Set<String> SELECTABLE = Set.of(
+            "alertId", "severity", "description", "source", "status", "details", "createdAt", "updatedAt",
+            "eventTimestamp", "initiatedBy", "updatedBy", "acknowledgedAt", "acknowledgedBy", "acknowledgementNotes",
+            "resolvedAt", "resolvedBy", "resolutionDetails", "closedAt", "closedBy", "closingReason",
+            "assignee", "assignedAt", "assignedBy", "noteCount", "latestNote");
+
+    private AlertFieldSets() {
+    }
+
+    /**
+     * Resolves the {@code view} and {@code fields} request parameters into a field selection.
+     *
+     * @param view   {@code full} (default) or {@code summary}
+     * @param fields explicit property names; takes precedence over the view
+     * @return the selected fields, always including {@code alertId}, or {@code null} for the full DTO
+     * @throws IllegalArgumentException for an unknown view or field
+     */
+    public static List<String> resolve(String view, List<String> fields) {
+        if (fields != null && !fields.isEmpty()) {
+            Set<String> selected = new LinkedHashSet<>();
+            selected.add("alertId");
+            for (String field : fields) {
+                String name = field.trim();
+                if (!SELECTABLE.contains(name)) {
+                    throw new IllegalArgumentException("Unknown alert field: " + name);
+                }
+                selected.add(name);
+            }
+            return new ArrayList<>(selected);
+        }
+        if (view == null || view.isBlank() || "full".equalsIgnoreCase(view)) {
+            return null;
+        }
+        if ("summary".equalsIgnoreCase(view)) {
+            return SUMMARY;
+        }
+        throw new IllegalArgumentException("Unknown view: " + view + ", expected 'full' or 'summary'");
+    }
+}
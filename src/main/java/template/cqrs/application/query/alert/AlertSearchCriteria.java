@@ -0,0 +1,31 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filter criteria shared by the alert search queries. Every criterion is optional; the ones that are set are
+ * combined with AND, values within a list with OR.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertSearchCriteria {
+    private List<AlertStatus> statuses;
+    private List<AlertSeverity> severities;
+    private String assignee;
+    private String source;
+    private Instant createdFrom; // Inclusive
+    private Instant createdTo;   // Inclusive
+    private String keyword;      // Full-text match on description and source; the only scored criterion
+    private Map<String, String> details; // Exact detail values by key (see AlertDetailFilters)
+}
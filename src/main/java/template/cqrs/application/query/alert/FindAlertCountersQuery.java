@@ -0,0 +1,12 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindAlertCountersQuery {
+    private String source; // Restrict the counts to one source, null = all sources
+}
@@ -0,0 +1,16 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindAlertNotesQuery {
+    private UUID alertId;
+    private int pageNumber;
+    private int pageSize;
+}
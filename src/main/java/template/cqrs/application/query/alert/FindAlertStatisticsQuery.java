@@ -0,0 +1,14 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindAlertStatisticsQuery {
+    private AlertSearchCriteria criteria;
+    private String histogramInterval; // Fixed interval of the createdAt histogram, e.g. "1h" or "1d"
+    private int topTerms;             // Buckets per terms breakdown
+}
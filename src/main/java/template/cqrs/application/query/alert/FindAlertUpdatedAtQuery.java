@@ -0,0 +1,17 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Looks up only the {@code updatedAt} of an alert, so a conditional GET can be answered 304 without loading it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindAlertUpdatedAtQuery {
+    private UUID alertId;
+}
@@ -0,0 +1,21 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindAlertsByFilterQuery {
+    private AlertSearchCriteria criteria;
+    private String sortField;     // null = createdAt
+    private String sortDirection; // "ASC"/"DESC", null = DESC
+    private int pageNumber;
+    private int pageSize;
+    private String cursor;
+    private boolean trackTotalHits;
+    private List<String> fields;
+}
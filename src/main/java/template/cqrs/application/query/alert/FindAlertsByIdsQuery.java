@@ -0,0 +1,16 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FindAlertsByIdsQuery {
+    private List<UUID> alertIds;
+    private List<String> fields;
+}
@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -11,4 +13,7 @@ public class FindAlertsByKeywordQuery {
     private String keyword; // Keyword to search in description or other relevant fields
     private int pageNumber;
     private int pageSize;
+    private String cursor;
+    private boolean trackTotalHits;
+    private List<String> fields;
 }
\ No newline at end of file
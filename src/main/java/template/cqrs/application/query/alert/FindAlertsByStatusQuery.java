@@ -5,6 +5,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import template.cqrs.domain.model.alert.value_objects.AlertStatus;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -12,4 +14,7 @@ public class FindAlertsByStatusQuery {
     private AlertStatus status;
     private int pageNumber;
     private int pageSize;
+    private String cursor;
+    private boolean trackTotalHits;
+    private List<String> fields;
 }
@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.Instant;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -14,4 +15,7 @@ public class FindAlertsByTimestampRangeQuery {
     private Instant endTime;   // Inclusive
     private int pageNumber;
     private int pageSize;
+    private String cursor;
+    private boolean trackTotalHits;
+    private List<String> fields;
 }
@@ -4,12 +4,17 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class FindAllAlertsQuery {
     private int pageNumber; // 0-indexed
     private int pageSize;
+    private String cursor; // null = offset paging, "" = first cursor page, otherwise the previous nextCursor
+    private boolean trackTotalHits;
+    private List<String> fields; // AlertDto properties to return, null = all (see AlertFieldSets)
     // Optional: Add sortField and sortDirection (e.g., String sortField, String sortDirection "ASC"/"DESC")
     // For simplicity, sorting might be handled by default or specific query methods.
 }
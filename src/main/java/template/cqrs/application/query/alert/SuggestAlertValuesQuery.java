@@ -0,0 +1,14 @@
+package template.cqrs.application.query.alert;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SuggestAlertValuesQuery {
+    private String field;  // description, source or assignee
+    private String prefix; // What the user has typed so far
+    private int size;
+}
@@ -372,6 +372,40 @@ public class AlertAggregate {
         log.trace("State after AlertDeletedEvent for {}: {}", this.alertId, this);
     }
 
+    @EventSourcingHandler
+    protected void on(AlertStateRestoredEvent event) {
+        // Appended right after the archival snapshot; the event carries the complete state
+        log.debug("Applying AlertStateRestoredEvent: {}", event.getAlertId());
+        this.alertId = event.getAlertId();
+        this.severity = event.getSeverity();
+        this.description = event.getDescription();
+        this.source = event.getSource();
+        this.status = event.getStatus();
+        this.details = event.getDetails();
+        this.createdAt = event.getCreatedAt();
+        this.updatedAt = event.getUpdatedAt();
+        this.eventTimestamp = event.getEventTimestamp();
+        this.initiatedBy = event.getInitiatedBy();
+        this.updatedBy = event.getUpdatedBy();
+        this.acknowledgedAt = event.getAcknowledgedAt();
+        this.acknowledgedBy = event.getAcknowledgedBy();
+        this.acknowledgementNotes = event.getAcknowledgementNotes();
+        this.resolvedAt = event.getResolvedAt();
+        this.resolvedBy = event.getResolvedBy();
+        this.resolutionDetails = event.getResolutionDetails();
+        this.closedAt = event.getClosedAt();
+        this.closedBy = event.getClosedBy();
+        this.closingReason = event.getClosingReason();
+        this.assignee = event.getAssignee();
+        this.assignedAt = event.getAssignedAt();
+        this.assignedBy = event.getAssignedBy();
+        this.notes = event.getNotes() != null ? new ArrayList<>(event.getNotes()) : new ArrayList<>();
+        this.deletedBy = event.getDeletedBy();
+        this.deletedAt = event.getDeletedAt();
+        this.deletionReason = event.getDeletionReason();
+        log.trace("State after AlertStateRestoredEvent for {}: {}", this.alertId, this);
+    }
+
     //endregion
 
     // toString for debugging (Lombok @Getter and manual fields are fine, or @ToString)
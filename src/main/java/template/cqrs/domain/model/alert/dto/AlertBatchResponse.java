@@ -0,0 +1,18 @@
+package template.cqrs.domain.model.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertBatchResponse {
+    private List<AlertDto> alerts; // In request order
+    private List<UUID> missing;    // Requested ids with no alert in the read model
+}
@@ -0,0 +1,31 @@
+package template.cqrs.domain.model.alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A change to one alert, pushed to alert and alert-list subscribers.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class AlertChangeDto {
+
+    public enum Type {
+        CHANGED,    // The alert changed (and, for list subscriptions, matches the filter)
+        LEFT_FILTER // The alert no longer matches the subscribed list filter
+    }
+
+    private UUID alertId;
+    private Type type;
+    private Map<String, Object> changes; // Changed read-model fields and their new values
+    private AlertDto alert;              // Summary of the alert, sent to list subscribers when it (re-)enters their filter
+}
@@ -0,0 +1,26 @@
+package template.cqrs.domain.model.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Live alert counts maintained in memory from the event stream.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertCountersDto {
+    private long total;
+    private Map<AlertStatus, Long> byStatus;
+    private Map<AlertStatus, Map<AlertSeverity, Long>> byStatusAndSeverity;
+    private Map<String, Map<AlertStatus, Long>> bySourceAndStatus;
+    private Instant lastEventAt; // Timestamp of the last event applied; lags behind during the startup replay
+}
@@ -10,17 +10,17 @@ import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
 import template.cqrs.domain.model.alert.value_objects.AlertStatus;
 
 import java.time.Instant;
-import java.util.List;
 import java.util.UUID;
 
 /**
  * Data Transfer Object representing an Alert for query responses.
  * This structure should mirror the Elasticsearch document.
+ * Responses with a field selection use {@link PartialAlertDto}, which omits the unselected properties.
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class AlertDto {
     private UUID alertId;
     private AlertSeverity severity;
@@ -45,6 +45,7 @@ public class AlertDto {
     private String assignee;
     private Instant assignedAt;
     private String assignedBy;
-    private List<AlertNoteDto> notes; // List of note DTOs
+    private Integer noteCount; // Notes themselves are paged from GET /api/v1/alerts/{alertId}/notes
+    private AlertNoteDto latestNote;
 }
 
@@ -0,0 +1,35 @@
+package template.cqrs.domain.model.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of the alerts matching a filter, broken down by field and over time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertStatisticsDto {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<String, Long> bySeverity;
+    private Map<String, Long> bySource;   // Top sources only
+    private Map<String, Long> byAssignee; // Top assignees only
+    private String histogramInterval;
+    private List<HistogramBucket> createdHistogram;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class HistogramBucket {
+        private Instant from;
+        private long count;
+    }
+}
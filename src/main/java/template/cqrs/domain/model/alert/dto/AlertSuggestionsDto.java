@@ -0,0 +1,18 @@
+package template.cqrs.domain.model.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertSuggestionsDto {
+    private String field;
+    private String prefix;
+    private List<String> suggestions; // Distinct values, best match first
+}
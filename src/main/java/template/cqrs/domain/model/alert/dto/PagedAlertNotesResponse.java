@@ -0,0 +1,22 @@
+package template.cqrs.domain.model.alert.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import template.cqrs.domain.model.alert.value_objects.AlertNoteDto;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PagedAlertNotesResponse {
+    private List<AlertNoteDto> notes; // Newest first
+    private int pageNumber;
+    private int pageSize;
+    private long totalElements;
+    private int totalPages;
+    private boolean last;
+}
@@ -15,7 +15,9 @@ public class PagedAlertResponse {
     private List<AlertDto> alerts;
     private int pageNumber;
     private int pageSize;
-    private long totalElements;
-    private int totalPages;
+    private long totalElements; // -1 when the total was not tracked
+    private int totalPages; // -1 when the total was not tracked
     private boolean last;
+    private String nextCursor; // Pass back as 'cursor' to fetch the next page; null on the last page and for offset paging
+    private String checkpoint; // Like nextCursor, but not tied to a point-in-time: never expires, opens a new one when passed back
 }
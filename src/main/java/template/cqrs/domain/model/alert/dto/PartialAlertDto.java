@@ -0,0 +1,15 @@
+package template.cqrs.domain.model.alert.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+/**
+ * An {@link AlertDto} holding only a field selection ({@code fields} or {@code view=summary}). Unselected
+ * properties stay null and are left out of the JSON, while full alerts keep serializing every property.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class PartialAlertDto extends AlertDto {
+}
@@ -0,0 +1,49 @@
+package template.cqrs.domain.model.alert.events;
+
+import lombok.Builder;
+import lombok.Value;
+import template.cqrs.domain.model.alert.value_objects.AlertDetails;
+import template.cqrs.domain.model.alert.value_objects.AlertNoteDto;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Full state of an alert whose history was moved to the cold event archive. It is appended after the archived
+ * events are removed from the event store, so event processor replays still see the alert; handlers treat it as an
+ * upsert.
+ */
+@Value
+@Builder
+public class AlertStateRestoredEvent {
+    UUID alertId;
+    AlertSeverity severity;
+    String description;
+    String source;
+    AlertStatus status;
+    AlertDetails details;
+    Instant createdAt;
+    Instant updatedAt;
+    Instant eventTimestamp;
+    String initiatedBy;
+    String updatedBy;
+    Instant acknowledgedAt;
+    String acknowledgedBy;
+    String acknowledgementNotes;
+    Instant resolvedAt;
+    String resolvedBy;
+    String resolutionDetails;
+    Instant closedAt;
+    String closedBy;
+    String closingReason;
+    String assignee;
+    Instant assignedAt;
+    String assignedBy;
+    List<AlertNoteDto> notes;
+    String deletedBy;
+    Instant deletedAt;
+    String deletionReason;
+}
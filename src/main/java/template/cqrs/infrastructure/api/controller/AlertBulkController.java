@@ -0,0 +1,380 @@
+package template.cqrs.infrastructure.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import lombok.Data;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.modelling.command.AggregateNotFoundException;
+import org.axonframework.modelling.command.ConcurrencyException;
+import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+import org.springframework.web.server.ResponseStatusException;
+import template.cqrs.application.command.alert.BoundedCommandDispatcher;
+import template.cqrs.application.query.alert.FindAlertsByFilterQuery;
+import template.cqrs.domain.model.alert.commands.AcknowledgeAlertCommand;
+import template.cqrs.domain.model.alert.commands.AssignAlertCommand;
+import template.cqrs.domain.model.alert.commands.CloseAlertCommand;
+import template.cqrs.domain.model.alert.commands.CreateAlertCommand;
+import template.cqrs.domain.model.alert.commands.ResolveAlertCommand;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+import template.cqrs.domain.model.alert.value_objects.AlertDetails;
+import template.cqrs.infrastructure.api.dto.BulkAlertCommandRequestDto;
+import template.cqrs.infrastructure.api.dto.BulkAlertCommandResponseDto;
+import template.cqrs.infrastructure.api.dto.BulkAlertCommandResponseDto.AlertResult;
+import template.cqrs.infrastructure.api.dto.BulkAlertCommandResponseDto.Status;
+import template.cqrs.infrastructure.api.dto.IngestAlertRequestDto;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Commands over many alerts in one request, all dispatched through {@link BoundedCommandDispatcher} windows.
+ * <p>
+ * {@code /bulk} applies one action to explicit ids or to the alerts matching a filter (resolved once, up to
+ * {@code app.command.bulk.max-alerts}) and reports the outcome per alert. {@code /ingest} creates alerts from an
+ * NDJSON body read line by line: each line is validated and dispatched as it arrives and a result line is streamed
+ * back in input order, so neither side ever holds more than the window of pending commands.
+ * <p>
+ * An ingest stream runs on its own virtual thread with its own timeout ({@code app.command.ingest.timeout-ms}),
+ * not on the MVC async executor and {@code spring.mvc.async.request-timeout} that exports and SSE share.
+ */
+@RestController
+@RequestMapping("/api/v1/alerts")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Alert Bulk API", description = "Bulk commands and NDJSON ingestion.")
+public class AlertBulkController {
+
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final BoundedCommandDispatcher commandDispatcher;
+    private final QueryGateway queryGateway;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final SimpleAsyncTaskExecutor ingestExecutor = ingestExecutor();
+
+    @Value("${app.command.bulk.max-alerts:1000}")
+    private int maxAlerts;
+
+    @Value("${app.command.ingest.max-line-bytes:1048576}")
+    private int maxLineBytes;
+
+    @Value("${app.command.ingest.timeout-ms:0}")
+    private long ingestTimeoutMs; // 0: no timeout (servlet async semantics), the stream runs until the input ends
+
+    @PostMapping("/bulk")
+    @Operation(summary = "Acknowledge, assign, resolve or close many alerts",
+            description = "Takes either 'alertIds' or a 'filter' (same criteria as /query) plus the action. Commands "
+                    + "are dispatched concurrently with bounded parallelism; the response lists the result per alert.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Per-alert results",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkAlertCommandResponseDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid action parameters, no targets or too many targets")
+            })
+    public ResponseEntity<BulkAlertCommandResponseDto> bulkCommand(@Valid @RequestBody BulkAlertCommandRequestDto request)
+            throws InterruptedException {
+        validate(request);
+        List<UUID> alertIds = resolveTargets(request);
+        log.info("Received bulk {} for {} alerts by {}", request.getAction(), alertIds.size(), request.getPerformedBy());
+
+        List<Object> commands = alertIds.stream().map(alertId -> toCommand(request, alertId)).toList();
+        List<CompletableFuture<Object>> outcomes = commandDispatcher.dispatchAll(commands);
+
+        List<AlertResult> results = new ArrayList<>(alertIds.size());
+        int succeeded = 0;
+        for (int i = 0; i < alertIds.size(); i++) {
+            Throwable failure = outcomes.get(i).handle((result, error) -> error).join();
+            AlertResult result = toResult(alertIds.get(i), failure);
+            if (result.getStatus() == Status.OK) {
+                succeeded++;
+            }
+            results.add(result);
+        }
+        log.info("Bulk {} finished: {} succeeded, {} failed", request.getAction(), succeeded, alertIds.size() - succeeded);
+        return ResponseEntity.ok(BulkAlertCommandResponseDto.builder()
+                .action(request.getAction())
+                .requested(alertIds.size())
+                .succeeded(succeeded)
+                .failed(alertIds.size() - succeeded)
+                .results(results)
+                .build());
+    }
+
+    @PostMapping(path = "/ingest", consumes = NDJSON, produces = NDJSON)
+    @Operation(summary = "Create alerts from an NDJSON stream",
+            description = "Each non-blank line is a create-alert request body. Lines are validated and dispatched as "
+                    + "they are read, with bounded concurrency; for every line a result "
+                    + "{\"line\":n,\"status\":\"CREATED|EXISTS|INVALID|FAILED\",...} is streamed back in input "
+                    + "order, followed by a final {\"summary\":{...}} line. A line may carry its own 'alertId' so a "
+                    + "resent stream does not create duplicates; alerts that already exist are reported as EXISTS.")
+    public WebAsyncTask<Void> ingestAlerts(HttpServletRequest request, HttpServletResponse response) {
+        return new WebAsyncTask<>(ingestTimeoutMs, ingestExecutor, () -> {
+            InputStream in = new BufferedInputStream(request.getInputStream(), 64 * 1024);
+            response.setStatus(HttpStatus.OK.value());
+            response.setContentType(NDJSON);
+            OutputStream out = response.getOutputStream();
+            try {
+                IngestSummary summary = ingest(in, out);
+                out.write(objectMapper.writeValueAsBytes(Map.of("summary", summary)));
+                out.write('\n');
+                out.flush();
+                log.info("NDJSON ingest finished: {}", summary);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Alert ingest interrupted", e);
+            }
+            return null; // The response is complete; nothing left for Spring MVC to write
+        });
+    }
+
+    private static SimpleAsyncTaskExecutor ingestExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("ingest-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    private IngestSummary ingest(InputStream in, OutputStream out) throws IOException, InterruptedException {
+        BoundedCommandDispatcher.Window window = commandDispatcher.openWindow();
+        Deque<PendingLine> pending = new ArrayDeque<>();
+        IngestSummary summary = new IngestSummary();
+        NdjsonLineReader reader = new NdjsonLineReader(in, maxLineBytes);
+        NdjsonLineReader.Line line;
+        while ((line = reader.next()) != null) {
+            summary.lines++;
+            if (line.tooLong()) {
+                pending.add(PendingLine.invalid(summary.lines, "Line exceeds " + maxLineBytes + " bytes"));
+            } else if (!line.text().isBlank()) {
+                pending.add(dispatch(summary.lines, line.text(), window));
+            }
+            // Write out whatever has completed at the head without waiting; flush once the client pauses sending
+            if (writeCompleted(pending, out, summary, false) && in.available() == 0) {
+                out.flush();
+            }
+        }
+        writeCompleted(pending, out, summary, true);
+        return summary;
+    }
+
+    private PendingLine dispatch(long lineNumber, String line, BoundedCommandDispatcher.Window window) throws InterruptedException {
+        IngestAlertRequestDto requestDto;
+        try {
+            requestDto = objectMapper.readValue(line, IngestAlertRequestDto.class);
+        } catch (JsonProcessingException e) {
+            return PendingLine.invalid(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (requestDto == null) {
+            return PendingLine.invalid(lineNumber, "Line is not a JSON object");
+        }
+        Set<ConstraintViolation<IngestAlertRequestDto>> violations = validator.validate(requestDto);
+        if (!violations.isEmpty()) {
+            return PendingLine.invalid(lineNumber, violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        // Same defaults as POST /api/v1/alerts
+        CreateAlertCommand command = CreateAlertCommand.builder()
+                .alertId(requestDto.getAlertId() != null ? requestDto.getAlertId() : UUID.randomUUID())
+                .severity(requestDto.getSeverity())
+                .description(requestDto.getDescription())
+                .source(requestDto.getSource() != null ? requestDto.getSource() : "APISource")
+                .details(new AlertDetails(requestDto.getDetails()))
+                .eventTimestamp(requestDto.getEventTimestamp())
+                .initiatedBy(requestDto.getInitiatedBy() != null ? requestDto.getInitiatedBy() : "APIUser")
+                .build();
+        return new PendingLine(lineNumber, command.getAlertId(), window.send(command), null);
+    }
+
+    /**
+     * Writes the results of the completed lines at the head of the queue, in input order.
+     *
+     * @param waitForAll block until every pending line has completed (end of input)
+     * @return whether anything was written
+     */
+    private boolean writeCompleted(Deque<PendingLine> pending, OutputStream out, IngestSummary summary,
+                                   boolean waitForAll) throws IOException {
+        boolean written = false;
+        while (!pending.isEmpty() && (waitForAll || pending.peek().isDone())) {
+            PendingLine next = pending.poll();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("line", next.lineNumber());
+            if (next.invalidReason() != null) {
+                summary.invalid++;
+                result.put("status", "INVALID");
+                result.put("error", next.invalidReason());
+            } else {
+                Throwable failure = next.result().handle((value, error) -> error).join();
+                result.put("alertId", next.alertId());
+                Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+                if (failure == null) {
+                    summary.created++;
+                    result.put("status", "CREATED");
+                } else if (alreadyExists(cause)) {
+                    summary.existing++;
+                    result.put("status", "EXISTS");
+                } else {
+                    summary.failed++;
+                    log.warn("NDJSON ingest line {} failed: {}", next.lineNumber(), cause.getMessage());
+                    result.put("status", "FAILED");
+                    result.put("error", String.valueOf(cause.getMessage()));
+                }
+            }
+            out.write(objectMapper.writeValueAsBytes(result));
+            out.write('\n');
+            written = true;
+        }
+        return written;
+    }
+
+    /**
+     * Whether a create failed because the event stream of its alert already exists, i.e. a resent line whose
+     * client-supplied alert id was created before.
+     */
+    private static boolean alreadyExists(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof ConcurrencyException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void validate(BulkAlertCommandRequestDto request) {
+        if ((request.getAlertIds() == null) == (request.getFilter() == null)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Exactly one of 'alertIds' and 'filter' is required");
+        }
+        if (request.getAction() == BulkAlertCommandRequestDto.Action.ASSIGN && !StringUtils.hasText(request.getAssignee())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'assignee' is required for ASSIGN");
+        }
+        if (request.getAction() == BulkAlertCommandRequestDto.Action.RESOLVE && !StringUtils.hasText(request.getComment())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'comment' (resolution details) is required for RESOLVE");
+        }
+    }
+
+    private List<UUID> resolveTargets(BulkAlertCommandRequestDto request) {
+        List<UUID> alertIds;
+        if (request.getAlertIds() != null) {
+            alertIds = request.getAlertIds().stream().distinct().toList();
+        } else {
+            // One id-only page, newest first; a filter matching more than the limit is rejected rather than truncated
+            FindAlertsByFilterQuery query = new FindAlertsByFilterQuery(request.getFilter(), "createdAt", "DESC",
+                    0, maxAlerts, null, true, List.of("alertId"));
+            PagedAlertResponse page;
+            try {
+                page = queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class)).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof IllegalArgumentException) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getCause().getMessage());
+                }
+                throw e;
+            }
+            if (page.getTotalElements() > maxAlerts) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Filter matches " + page.getTotalElements()
+                        + " alerts, more than the bulk limit of " + maxAlerts + "; narrow the filter");
+            }
+            alertIds = page.getAlerts().stream().map(AlertDto::getAlertId).toList();
+        }
+        if (alertIds.isEmpty() && request.getAlertIds() != null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'alertIds' is empty");
+        }
+        if (alertIds.size() > maxAlerts) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + maxAlerts + " alerts per bulk request");
+        }
+        return alertIds;
+    }
+
+    private static Object toCommand(BulkAlertCommandRequestDto request, UUID alertId) {
+        return switch (request.getAction()) {
+            case ACKNOWLEDGE -> AcknowledgeAlertCommand.builder()
+                    .alertId(alertId)
+                    .acknowledgedBy(request.getPerformedBy())
+                    .notes(request.getComment())
+                    .build();
+            case ASSIGN -> AssignAlertCommand.builder()
+                    .alertId(alertId)
+                    .assignee(request.getAssignee())
+                    .assignedBy(request.getPerformedBy())
+                    .build();
+            case RESOLVE -> ResolveAlertCommand.builder()
+                    .alertId(alertId)
+                    .resolvedBy(request.getPerformedBy())
+                    .resolutionDetails(request.getComment())
+                    .build();
+            case CLOSE -> CloseAlertCommand.builder()
+                    .alertId(alertId)
+                    .closedBy(request.getPerformedBy())
+                    .reason(request.getComment())
+                    .build();
+        };
+    }
+
+    // Same mapping as AlertCommandController's single-alert endpoints: not found, rejected by the aggregate, failed
+    private static AlertResult toResult(UUID alertId, Throwable failure) {
+        if (failure == null) {
+            return new AlertResult(alertId, Status.OK, null);
+        }
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        Status status;
+        if (cause instanceof AggregateNotFoundException) {
+            status = Status.NOT_FOUND;
+        } else if (cause instanceof IllegalStateException || cause instanceof IllegalArgumentException) {
+            status = Status.REJECTED;
+        } else {
+            status = Status.FAILED;
+            log.error("Bulk command failed for alert {}: {}", alertId, cause.getMessage(), cause);
+        }
+        return new AlertResult(alertId, status, cause.getMessage());
+    }
+
+    private record PendingLine(long lineNumber, UUID alertId, CompletableFuture<Object> result, String invalidReason) {
+
+        static PendingLine invalid(long lineNumber, String reason) {
+            return new PendingLine(lineNumber, null, null, reason);
+        }
+
+        boolean isDone() {
+            return result == null || result.isDone();
+        }
+    }
+
+    @Data
+    static class IngestSummary {
+        private long lines;
+        private long created;
+        private long existing;
+        private long invalid;
+        private long failed;
+    }
+}
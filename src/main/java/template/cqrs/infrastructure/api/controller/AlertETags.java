@@ -0,0 +1,94 @@
+package template.cqrs.infrastructure.api.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Validators for conditional GETs of alerts, derived from {@code updatedAt}, which every projected event sets.
+ * <p>
+ * A single alert carries a strong ETag of its full-precision {@code updatedAt} and a {@code Last-Modified} of it.
+ * The controller checks both against {@link #isNotModified} with only the alert's {@code updatedAt} in hand, before
+ * loading the alert. {@code If-None-Match} takes precedence, as in RFC 9110; a client sending only
+ * {@code If-Modified-Since} is limited to the one-second resolution of HTTP dates, so a second update within the
+ * same second may be answered 304 to it until the alert changes again.
+ * <p>
+ * A page carries a weak ETag only: a digest of the ids and {@code updatedAt} of its alerts plus the total and the
+ * checkpoint, so any change to the page's membership, order or content changes it. The checkpoint is used instead
+ * of the next cursor because the cursor holds a point-in-time id that is new on every request. Spring's
+ * {@code HttpEntityMethodProcessor} answers a matching {@code If-None-Match} on a page with 304 and skips
+ * serializing the body. Pages whose field selection leaves out {@code updatedAt} get no validator.
+ * <p>
+ * Validators are computed from what this instance serves, including its {@code AlertByIdCache}, which other
+ * instances do not invalidate. Until that cache's TTL ({@code app.query.cache.by-id.ttl-ms}) expires an instance
+ * may still hand out, and answer 304 for, the validators of the previous version of an alert.
+ */
+final class AlertETags {
+
+    private AlertETags() {
+    }
+
+    static ResponseEntity<AlertDto> ok(AlertDto alert) {
+        if (alert.getUpdatedAt() == null) {
+            return ResponseEntity.ok(alert);
+        }
+        return ResponseEntity.ok()
+                .eTag(strong(alert.getUpdatedAt()))
+                .lastModified(alert.getUpdatedAt())
+                .body(alert);
+    }
+
+    static ResponseEntity<AlertDto> notModified(Instant updatedAt) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(strong(updatedAt))
+                .lastModified(updatedAt)
+                .build();
+    }
+
+    /**
+     * Whether a request with these headers already holds the version of an alert last updated at {@code updatedAt}.
+     */
+    static boolean isNotModified(HttpHeaders request, Instant updatedAt) {
+        List<String> ifNoneMatch = request.getIfNoneMatch();
+        if (!ifNoneMatch.isEmpty()) {
+            String etag = strong(updatedAt);
+            // Weak comparison, as for GETs: a W/ prefix on the client's copy does not matter
+            return ifNoneMatch.stream().anyMatch(tag -> tag.equals("*") || tag.replaceFirst("^W/", "").equals(etag));
+        }
+        long ifModifiedSince = request.getIfModifiedSince();
+        return ifModifiedSince >= 0 && updatedAt.getEpochSecond() * 1000 <= ifModifiedSince;
+    }
+
+    static boolean isConditional(HttpHeaders request) {
+        return !request.getIfNoneMatch().isEmpty() || request.getIfModifiedSince() >= 0;
+    }
+
+    static ResponseEntity<PagedAlertResponse> ok(PagedAlertResponse page) {
+        if (page.getAlerts() == null || page.getAlerts().stream().anyMatch(alert -> alert.getUpdatedAt() == null)) {
+            return ResponseEntity.ok(page);
+        }
+        StringBuilder state = new StringBuilder()
+                .append(page.getTotalElements()).append('|')
+                .append(Objects.toString(page.getCheckpoint(), "")).append('|');
+        page.getAlerts().forEach(alert -> state.append(alert.getAlertId()).append('@').append(alert.getUpdatedAt()).append(';'));
+        return ResponseEntity.ok()
+                .eTag(weak(DigestUtils.md5DigestAsHex(state.toString().getBytes(StandardCharsets.UTF_8))))
+                .body(page);
+    }
+
+    private static String strong(Instant updatedAt) {
+        return "\"" + updatedAt + "\"";
+    }
+
+    private static String weak(String tag) {
+        return "W/\"" + tag + "\"";
+    }
+}
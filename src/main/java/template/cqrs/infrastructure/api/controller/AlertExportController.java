@@ -0,0 +1,171 @@
+package template.cqrs.infrastructure.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import template.cqrs.application.query.alert.AlertCursorExpiredException;
+import template.cqrs.application.query.alert.AlertDetailFilters;
+import template.cqrs.application.query.alert.AlertFieldSets;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+import template.cqrs.application.query.alert.FindAlertsByFilterQuery;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams filtered alerts as NDJSON, one {@link AlertDto} per line, walking a point-in-time page by page through
+ * the same {@link FindAlertsByFilterQuery} as the list endpoints. Only one page is held in memory at a time.
+ * <p>
+ * After every page except the last, a checkpoint line {@code {"cursor":"..."}} is written; an interrupted export
+ * resumes by passing the last checkpoint as {@code cursor} with the same filters, sort and fields. A checkpoint
+ * holds the sort values of the last exported alert and a hash of the filters, not the point-in-time, so it does
+ * not expire: the resumed export opens a new point-in-time and continues after that alert. Alerts created or
+ * changed in the meantime may show up in, or drop out of, the rest of the export.
+ * <p>
+ * The export runs as an async request and is cut off after {@code spring.mvc.async.request-timeout}; longer
+ * exports have to be resumed from their last checkpoint. The point-in-time keep-alive
+ * ({@code app.query.cursor.keep-alive-ms}) only bounds the time between two pages of one export.
+ */
+@RestController
+@RequestMapping("/api/v1/alerts")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Alert Export API", description = "Bulk export of alerts.")
+public class AlertExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final QueryGateway queryGateway;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.query.export.page-size:1000}")
+    private int pageSize;
+
+    @GetMapping(path = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Export alerts as NDJSON",
+            description = "Streams all alerts matching the filters, one JSON object per line, interleaved with "
+                    + "{\"cursor\":\"...\"} checkpoint lines that can be passed back as 'cursor' to resume.")
+    public ResponseEntity<StreamingResponseBody> exportAlerts(
+            @Parameter(description = "Statuses to include") @RequestParam(required = false) List<AlertStatus> status,
+            @Parameter(description = "Severities to include") @RequestParam(required = false) List<AlertSeverity> severity,
+            @Parameter(description = "Exact assignee") @RequestParam(required = false) String assignee,
+            @Parameter(description = "Exact source") @RequestParam(required = false) String source,
+            @Parameter(description = "Created at or after (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @Parameter(description = "Created at or before (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @Parameter(description = "Keyword to search for in description or source") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Detail filters as key:value, e.g. host:web-01 (repeatable, all must match)")
+            @RequestParam(required = false) List<String> detail,
+            @Parameter(description = "Sort field, e.g. createdAt, updatedAt, severity, status, source, assignee")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "Last checkpoint cursor of an interrupted export; resumes after the last exported alert "
+                    + "when passed with the same filters, sort and fields") @RequestParam(required = false) String cursor,
+            @Parameter(description = "'full' (default) or 'summary'") @RequestParam(required = false) String view,
+            @Parameter(description = "Comma-separated alert fields to export; overrides 'view'") @RequestParam(required = false) List<String> fields,
+            @Parameter(description = "Gzip the response (Content-Encoding: gzip)") @RequestParam(defaultValue = "false") boolean gzip) {
+        AlertSearchCriteria criteria;
+        List<String> selectedFields;
+        try {
+            criteria = AlertSearchCriteria.builder()
+                    .statuses(status)
+                    .severities(severity)
+                    .assignee(assignee)
+                    .source(source)
+                    .createdFrom(createdFrom)
+                    .createdTo(createdTo)
+                    .keyword(keyword)
+                    .details(AlertDetailFilters.parse(detail))
+                    .build();
+            selectedFields = AlertFieldSets.resolve(view, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        log.info("Starting alert export: {}, sort={} {}, resumed={}", criteria, sort, direction, cursor != null);
+
+        // The first page is fetched before the response is committed, so bad filters or cursors still get a 400
+        FindAlertsByFilterQuery query = new FindAlertsByFilterQuery(criteria, sort, direction, 0, pageSize,
+                cursor != null ? cursor : "", false, selectedFields);
+        PagedAlertResponse firstPage = fetch(query);
+
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+            long exported = writePages(out, query, firstPage);
+            if (gzip) {
+                ((GZIPOutputStream) out).finish();
+            }
+            out.flush();
+            log.info("Alert export finished: {} alerts.", exported);
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().contentType(NDJSON);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
+    }
+
+    private long writePages(OutputStream out, FindAlertsByFilterQuery query, PagedAlertResponse firstPage) throws IOException {
+        long exported = 0;
+        PagedAlertResponse page = firstPage;
+        while (true) {
+            for (AlertDto alert : page.getAlerts()) {
+                out.write(objectMapper.writeValueAsBytes(alert));
+                out.write('\n');
+            }
+            exported += page.getAlerts().size();
+            if (page.getNextCursor() == null) {
+                return exported;
+            }
+            out.write(objectMapper.writeValueAsBytes(Map.of("cursor", page.getCheckpoint())));
+            out.write('\n');
+            out.flush();
+
+            query.setCursor(page.getNextCursor());
+            try {
+                page = fetch(query);
+            } catch (RuntimeException e) {
+                // Headers are gone; the client resumes from the last checkpoint line
+                log.error("Alert export aborted after {} alerts: {}", exported, e.getMessage(), e);
+                throw new IOException("Alert export aborted", e);
+            }
+        }
+    }
+
+    private PagedAlertResponse fetch(FindAlertsByFilterQuery query) {
+        try {
+            return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof AlertCursorExpiredException) {
+                throw new ResponseStatusException(HttpStatus.GONE, e.getCause().getMessage());
+            }
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getCause().getMessage());
+            }
+            throw e;
+        }
+    }
+}
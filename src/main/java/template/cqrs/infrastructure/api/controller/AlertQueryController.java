@@ -11,15 +11,27 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.axonframework.messaging.responsetypes.ResponseTypes;
 import org.axonframework.queryhandling.QueryGateway;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import template.cqrs.application.query.alert.*;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
 import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+import template.cqrs.domain.model.alert.dto.AlertBatchResponse;
+import template.cqrs.domain.model.alert.dto.AlertCountersDto;
 import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.AlertStatisticsDto;
+import template.cqrs.domain.model.alert.dto.AlertSuggestionsDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertNotesResponse;
 import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -30,72 +42,311 @@ import java.util.concurrent.CompletableFuture;
 @Tag(name = "Alert Query API", description = "Endpoints for querying alerts.")
 public class AlertQueryController {
 
+    private static final String CURSOR_DESCRIPTION = "Cursor pagination: pass an empty value for the first page, then the "
+            + "'nextCursor' of the previous response. 'page' is ignored in cursor mode. A cursor left unused for longer "
+            + "than app.query.cursor.keep-alive-ms answers 410 Gone; the 'checkpoint' of the same response does not expire "
+            + "and continues on a new point-in-time. A malformed cursor, or one issued for other filters, sort or fields, 400.";
+    private static final String TRACK_TOTAL_HITS_DESCRIPTION = "Compute the exact total; when false, "
+            + "'totalElements' and 'totalPages' are -1 and newest-first searches stop early on the index sort.";
+    private static final String VIEW_DESCRIPTION = "'full' (default) or 'summary' (table columns only, no details or latest note)";
+    private static final String FIELDS_DESCRIPTION = "Comma-separated alert fields to return; overrides 'view'";
+
     private final QueryGateway queryGateway;
 
+    @Value("${app.query.batch.max-ids:100}")
+    private int maxBatchIds;
+
     @GetMapping("/{alertId}")
     @Operation(summary = "Get an alert by its ID",
+            description = "Returns the full alert with its 'noteCount' and 'latestNote'; the notes themselves are "
+                    + "paged from /{alertId}/notes.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Alert found",
                             content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlertDto.class))),
+                    @ApiResponse(responseCode = "304", description = "Alert unchanged since the ETag in If-None-Match "
+                            + "or the date in If-Modified-Since"),
                     @ApiResponse(responseCode = "404", description = "Alert not found")
             })
     public CompletableFuture<ResponseEntity<AlertDto>> getAlertById(
-            @Parameter(description = "ID of the alert to retrieve") @PathVariable UUID alertId) {
+            @Parameter(description = "ID of the alert to retrieve") @PathVariable UUID alertId,
+            @Parameter(hidden = true) @RequestHeader HttpHeaders headers) {
         log.debug("Received request to get alert by ID: {}", alertId);
-        FindAlertByIdQuery query = new FindAlertByIdQuery(alertId);
+        if (!AlertETags.isConditional(headers)) {
+            return findAlertById(alertId);
+        }
+        // Revalidation only needs updatedAt: answer 304 before loading and serializing the alert
+        return queryGateway.query(new FindAlertUpdatedAtQuery(alertId), ResponseTypes.optionalInstanceOf(Instant.class))
+                .thenCompose(updatedAt -> updatedAt.isPresent() && AlertETags.isNotModified(headers, updatedAt.get())
+                        ? CompletableFuture.completedFuture(AlertETags.notModified(updatedAt.get()))
+                        : findAlertById(alertId));
+    }
 
-        return queryGateway.query(query, ResponseTypes.optionalInstanceOf(AlertDto.class))
-                .thenApply(optionalResult -> optionalResult
-                        .map(ResponseEntity::ok)
-                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    @GetMapping("/batch")
+    @Operation(summary = "Get several alerts by their IDs",
+            description = "Resolves up to app.query.batch.max-ids alerts with one multi-get. Alerts are returned in "
+                    + "request order; ids without an alert are listed in 'missing'.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Found alerts and missing ids",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlertBatchResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "No ids, too many ids or an unknown field")
+            })
+    public CompletableFuture<AlertBatchResponse> getAlertsByIds(
+            @Parameter(description = "Comma-separated alert IDs") @RequestParam List<UUID> ids,
+            @Parameter(description = VIEW_DESCRIPTION) @RequestParam(required = false) String view,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields) {
+        log.debug("Received request to get {} alerts by ID", ids.size());
+        if (ids.isEmpty() || ids.size() > maxBatchIds) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must contain 1 to " + maxBatchIds + " alert IDs");
+        }
+        FindAlertsByIdsQuery query = new FindAlertsByIdsQuery(ids, selectFields(view, fields));
+        return queryGateway.query(query, ResponseTypes.instanceOf(AlertBatchResponse.class));
+    }
+
+    @GetMapping("/{alertId}/notes")
+    @Operation(summary = "Get the notes of an alert",
+            description = "Retrieves a paginated list of the alert's notes, newest first. "
+                    + "Alerts themselves only carry 'noteCount' and 'latestNote'.")
+    public CompletableFuture<PagedAlertNotesResponse> getAlertNotes(
+            @Parameter(description = "ID of the alert") @PathVariable UUID alertId,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of notes per page") @RequestParam(defaultValue = "20") int size) {
+        log.debug("Received request to get notes of alert {}: page={}, size={}", alertId, page, size);
+        if (page < 0 || size < 1 || size > 100) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page must be >= 0 and size between 1 and 100");
+        }
+        FindAlertNotesQuery query = new FindAlertNotesQuery(alertId, page, size);
+        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertNotesResponse.class));
     }
 
     @GetMapping
     @Operation(summary = "Get all alerts with pagination",
-            description = "Retrieves a paginated list of all alerts, sorted by creation date descending by default.")
-    public CompletableFuture<PagedAlertResponse> getAllAlerts(
+            description = "Retrieves a paginated list of all alerts, sorted by creation date descending by default. "
+                    + "Use the cursor parameter for deep pagination.")
+    public CompletableFuture<ResponseEntity<PagedAlertResponse>> getAllAlerts(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = TRACK_TOTAL_HITS_DESCRIPTION) @RequestParam(defaultValue = "true") boolean trackTotalHits,
+            @Parameter(description = VIEW_DESCRIPTION) @RequestParam(required = false) String view,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields) {
         log.debug("Received request to get all alerts: page={}, size={}", page, size);
-        FindAllAlertsQuery query = new FindAllAlertsQuery(page, size);
-        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class));
+        FindAllAlertsQuery query = new FindAllAlertsQuery(page, size, cursor, trackTotalHits, selectFields(view, fields));
+        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class))
+                .thenApply(AlertETags::ok)
+                .exceptionally(ex -> handleQueryException(ex, "list alerts"));
     }
 
     @GetMapping("/search")
     @Operation(summary = "Find alerts by keyword",
             description = "Searches for alerts where the keyword matches in description or source.")
-    public CompletableFuture<PagedAlertResponse> findAlertsByKeyword(
+    public CompletableFuture<ResponseEntity<PagedAlertResponse>> findAlertsByKeyword(
             @Parameter(description = "Keyword to search for") @RequestParam String keyword,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = TRACK_TOTAL_HITS_DESCRIPTION) @RequestParam(defaultValue = "true") boolean trackTotalHits,
+            @Parameter(description = VIEW_DESCRIPTION) @RequestParam(required = false) String view,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields) {
         log.debug("Received request to find alerts by keyword: {}, page={}, size={}", keyword, page, size);
-        FindAlertsByKeywordQuery query = new FindAlertsByKeywordQuery(keyword, page, size);
-        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class));
+        FindAlertsByKeywordQuery query = new FindAlertsByKeywordQuery(keyword, page, size, cursor, trackTotalHits,
+                selectFields(view, fields));
+        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class))
+                .thenApply(AlertETags::ok)
+                .exceptionally(ex -> handleQueryException(ex, "search alerts"));
     }
 
     @GetMapping("/filter")
     @Operation(summary = "Find alerts by timestamp range",
             description = "Retrieves alerts created within the specified timestamp range (inclusive). Timestamps should be in ISO 8601 format.")
-    public CompletableFuture<PagedAlertResponse> findAlertsByTimestampRange(
+    public CompletableFuture<ResponseEntity<PagedAlertResponse>> findAlertsByTimestampRange(
             @Parameter(description = "Start timestamp (ISO 8601 format, e.g., 2023-01-01T00:00:00Z)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant startTime,
             @Parameter(description = "End timestamp (ISO 8601 format, e.g., 2023-01-31T23:59:59Z)", required = true)
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant endTime,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = TRACK_TOTAL_HITS_DESCRIPTION) @RequestParam(defaultValue = "true") boolean trackTotalHits,
+            @Parameter(description = VIEW_DESCRIPTION) @RequestParam(required = false) String view,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields) {
         log.debug("Received request to find alerts by timestamp range: {} - {}, page={}, size={}", startTime, endTime, page, size);
-        FindAlertsByTimestampRangeQuery query = new FindAlertsByTimestampRangeQuery(startTime, endTime, page, size);
-        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class));
+        FindAlertsByTimestampRangeQuery query = new FindAlertsByTimestampRangeQuery(startTime, endTime, page, size, cursor,
+                trackTotalHits, selectFields(view, fields));
+        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class))
+                .thenApply(AlertETags::ok)
+                .exceptionally(ex -> handleQueryException(ex, "filter alerts by timestamp"));
     }
 
     @GetMapping("/status")
     @Operation(summary = "Find alerts by status")
-    public CompletableFuture<PagedAlertResponse> findAlertsByStatus(
+    public CompletableFuture<ResponseEntity<PagedAlertResponse>> findAlertsByStatus(
             @Parameter(description = "Alert status to filter by", required = true) @RequestParam AlertStatus status,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
-            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size) {
+            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = TRACK_TOTAL_HITS_DESCRIPTION) @RequestParam(defaultValue = "true") boolean trackTotalHits,
+            @Parameter(description = VIEW_DESCRIPTION) @RequestParam(required = false) String view,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields) {
         log.debug("Received request to find alerts by status: {}, page={}, size={}", status, page, size);
-        FindAlertsByStatusQuery query = new FindAlertsByStatusQuery(status, page, size);
-        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class));
+        FindAlertsByStatusQuery query = new FindAlertsByStatusQuery(status, page, size, cursor, trackTotalHits,
+                selectFields(view, fields));
+        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class))
+                .thenApply(AlertETags::ok)
+                .exceptionally(ex -> handleQueryException(ex, "filter alerts by status"));
+    }
+
+    @GetMapping("/query")
+    @Operation(summary = "Find alerts by combined filters",
+            description = "Combines status, severity, assignee, source, creation time range and keyword in one search. "
+                    + "All parameters are optional; repeated status/severity values are OR-ed, different criteria AND-ed. "
+                    + "Only the keyword affects relevance; results are sorted by the requested field.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Matching alerts"),
+                    @ApiResponse(responseCode = "400", description = "Unsupported sort, unknown field selection or invalid cursor")
+            })
+    public CompletableFuture<ResponseEntity<PagedAlertResponse>> findAlertsByFilter(
+            @Parameter(description = "Statuses to include") @RequestParam(required = false) List<AlertStatus> status,
+            @Parameter(description = "Severities to include") @RequestParam(required = false) List<AlertSeverity> severity,
+            @Parameter(description = "Exact assignee") @RequestParam(required = false) String assignee,
+            @Parameter(description = "Exact source") @RequestParam(required = false) String source,
+            @Parameter(description = "Created at or after (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @Parameter(description = "Created at or before (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @Parameter(description = "Keyword to search for in description or source") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Detail filters as key:value, e.g. host:web-01 (repeatable, all must match)")
+            @RequestParam(required = false) List<String> detail,
+            @Parameter(description = "Sort field, e.g. createdAt, updatedAt, severity, status, source, assignee")
+            @RequestParam(defaultValue = "createdAt") String sort,
+            @Parameter(description = "Sort direction (ASC or DESC)") @RequestParam(defaultValue = "DESC") String direction,
+            @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Number of alerts per page") @RequestParam(defaultValue = "10") int size,
+            @Parameter(description = CURSOR_DESCRIPTION) @RequestParam(required = false) String cursor,
+            @Parameter(description = TRACK_TOTAL_HITS_DESCRIPTION) @RequestParam(defaultValue = "true") boolean trackTotalHits,
+            @Parameter(description = VIEW_DESCRIPTION) @RequestParam(required = false) String view,
+            @Parameter(description = FIELDS_DESCRIPTION) @RequestParam(required = false) List<String> fields) {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .statuses(status)
+                .severities(severity)
+                .assignee(assignee)
+                .source(source)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .keyword(keyword)
+                .details(detailFilters(detail))
+                .build();
+        log.debug("Received request to find alerts by filter: {}, sort={} {}, page={}, size={}", criteria, sort, direction, page, size);
+        FindAlertsByFilterQuery query = new FindAlertsByFilterQuery(criteria, sort, direction, page, size, cursor,
+                trackTotalHits, selectFields(view, fields));
+        return queryGateway.query(query, ResponseTypes.instanceOf(PagedAlertResponse.class))
+                .thenApply(AlertETags::ok)
+                .exceptionally(ex -> handleQueryException(ex, "filter alerts"));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Alert statistics",
+            description = "Counts by status, severity, top sources and top assignees, plus a creation-time histogram, "
+                    + "for the alerts matching the filters. Results may be a few seconds old.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Statistics",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlertStatisticsDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid interval or top value, or an interval too small for the time range")
+            })
+    public CompletableFuture<ResponseEntity<AlertStatisticsDto>> getAlertStatistics(
+            @Parameter(description = "Statuses to include") @RequestParam(required = false) List<AlertStatus> status,
+            @Parameter(description = "Severities to include") @RequestParam(required = false) List<AlertSeverity> severity,
+            @Parameter(description = "Exact assignee") @RequestParam(required = false) String assignee,
+            @Parameter(description = "Exact source") @RequestParam(required = false) String source,
+            @Parameter(description = "Created at or after (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @Parameter(description = "Created at or before (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @Parameter(description = "Keyword to search for in description or source") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Detail filters as key:value, e.g. host:web-01 (repeatable, all must match)")
+            @RequestParam(required = false) List<String> detail,
+            @Parameter(description = "Histogram bucket width, e.g. 30m, 1h, 1d") @RequestParam(defaultValue = "1d") String interval,
+            @Parameter(description = "Number of top sources/assignees") @RequestParam(defaultValue = "10") int top) {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .statuses(status)
+                .severities(severity)
+                .assignee(assignee)
+                .source(source)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .keyword(keyword)
+                .details(detailFilters(detail))
+                .build();
+        log.debug("Received request for alert statistics: {}, interval={}, top={}", criteria, interval, top);
+        FindAlertStatisticsQuery query = new FindAlertStatisticsQuery(criteria, interval, top);
+        return queryGateway.query(query, ResponseTypes.instanceOf(AlertStatisticsDto.class))
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> handleQueryException(ex, "compute alert statistics"));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions",
+            description = "Distinct description, source or assignee values starting with (description: containing "
+                    + "words starting with) the typed prefix. Meant to be called on each keystroke.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Suggestions",
+                            content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlertSuggestionsDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid field, prefix or size")
+            })
+    public CompletableFuture<ResponseEntity<AlertSuggestionsDto>> suggest(
+            @Parameter(description = "What the user has typed so far") @RequestParam String prefix,
+            @Parameter(description = "description, source or assignee") @RequestParam(defaultValue = "description") String field,
+            @Parameter(description = "Number of suggestions (max 20)") @RequestParam(defaultValue = "10") int size) {
+        log.debug("Received suggest request: field={}, prefix={}, size={}", field, prefix, size);
+        SuggestAlertValuesQuery query = new SuggestAlertValuesQuery(field, prefix, size);
+        return queryGateway.query(query, ResponseTypes.instanceOf(AlertSuggestionsDto.class))
+                .thenApply(ResponseEntity::ok)
+                .exceptionally(ex -> handleQueryException(ex, "suggest alert values"));
+    }
+
+    @GetMapping("/counters")
+    @Operation(summary = "Live alert counters",
+            description = "Alert counts by status, severity and source, maintained in memory from the event stream. "
+                    + "Does not query Elasticsearch; counts are rebuilt by replay after a restart.")
+    public CompletableFuture<AlertCountersDto> getAlertCounters(
+            @Parameter(description = "Restrict the counts to one source") @RequestParam(required = false) String source) {
+        log.debug("Received request for alert counters: source={}", source);
+        return queryGateway.query(new FindAlertCountersQuery(source), ResponseTypes.instanceOf(AlertCountersDto.class));
+    }
+
+    private CompletableFuture<ResponseEntity<AlertDto>> findAlertById(UUID alertId) {
+        return queryGateway.query(new FindAlertByIdQuery(alertId), ResponseTypes.optionalInstanceOf(AlertDto.class))
+                .thenApply(optionalResult -> optionalResult
+                        .map(AlertETags::ok)
+                        .orElseGet(() -> ResponseEntity.notFound().build()));
+    }
+
+    private Map<String, String> detailFilters(List<String> detail) {
+        try {
+            return AlertDetailFilters.parse(detail);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private List<String> selectFields(String view, List<String> fields) {
+        try {
+            return AlertFieldSets.resolve(view, fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private <T> ResponseEntity<T> handleQueryException(Throwable ex, String action) {
+        Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+        if (cause instanceof AlertCursorExpiredException) {
+            log.info("Rejected request to {}: {}", action, cause.getMessage());
+            throw new ResponseStatusException(HttpStatus.GONE, cause.getMessage());
+        }
+        if (cause instanceof IllegalArgumentException) {
+            log.warn("Rejected request to {}: {}", action, cause.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, cause.getMessage());
+        }
+        log.error("Error during {}: {}", action, ex.getMessage(), cause);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
     }
 }
@@ -0,0 +1,174 @@
+package template.cqrs.infrastructure.api.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.messaging.responsetypes.ResponseTypes;
+import org.axonframework.queryhandling.QueryGateway;
+import org.axonframework.queryhandling.SubscriptionQueryResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import template.cqrs.application.query.alert.AlertDetailFilters;
+import template.cqrs.application.query.alert.AlertFieldSets;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+import template.cqrs.application.query.alert.FindAlertByIdQuery;
+import template.cqrs.application.query.alert.FindAlertsByFilterQuery;
+import template.cqrs.domain.model.alert.dto.AlertChangeDto;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Server-Sent Event streams of alert changes, backed by Axon subscription queries.
+ * <p>
+ * Each stream starts with a {@code snapshot} event (the current alert or the first page of the list) followed by
+ * {@code change} events carrying {@link AlertChangeDto} deltas. Changes are coalesced per alert over a short
+ * window, and each subscriber has its own bounded buffer: a client that cannot keep up gets a {@code resync}
+ * event and the stream ends, so it reconnects with a fresh snapshot instead of slowing down the projection.
+ */
+@RestController
+@RequestMapping("/api/v1/alerts")
+@RequiredArgsConstructor
+@Slf4j
+@Tag(name = "Alert Stream API", description = "Server-Sent Event streams of alert changes.")
+public class AlertStreamController {
+
+    private final QueryGateway queryGateway;
+
+    @Value("${app.query.stream.coalesce-window-ms:250}")
+    private long coalesceWindowMs;
+
+    @Value("${app.query.stream.max-batch-size:500}")
+    private int maxBatchSize; // Changes coalesced into one window at most
+
+    @Value("${app.query.stream.max-pending-batches:64}")
+    private int maxPendingBatches; // Coalesced windows buffered for a slow subscriber before it is asked to resync
+
+    @GetMapping(path = "/{alertId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes of an alert",
+            description = "Server-Sent Events: a 'snapshot' event with the current alert, then 'change' events with deltas.")
+    public Flux<ServerSentEvent<Object>> streamAlert(
+            @Parameter(description = "ID of the alert to follow") @PathVariable UUID alertId) {
+        log.debug("Received request to stream alert: {}", alertId);
+        SubscriptionQueryResult<Optional<AlertDto>, AlertChangeDto> result = queryGateway.subscriptionQuery(
+                new FindAlertByIdQuery(alertId),
+                ResponseTypes.optionalInstanceOf(AlertDto.class),
+                ResponseTypes.instanceOf(AlertChangeDto.class));
+        Flux<ServerSentEvent<Object>> snapshot = result.initialResult()
+                .map(alert -> ServerSentEvent.<Object>builder().event("snapshot").data(alert.orElse(null)).build())
+                .flux();
+        return stream(snapshot, result);
+    }
+
+    @GetMapping(path = "/query/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes of a filtered alert list",
+            description = "Server-Sent Events: a 'snapshot' event with the first page (summary view) of the filter "
+                    + "result, then 'change' events for alerts matching the filter and 'LEFT_FILTER' changes for "
+                    + "alerts moving out of it. The keyword only applies to the snapshot.")
+    public Flux<ServerSentEvent<Object>> streamAlertsByFilter(
+            @Parameter(description = "Statuses to include") @RequestParam(required = false) List<AlertStatus> status,
+            @Parameter(description = "Severities to include") @RequestParam(required = false) List<AlertSeverity> severity,
+            @Parameter(description = "Exact assignee") @RequestParam(required = false) String assignee,
+            @Parameter(description = "Exact source") @RequestParam(required = false) String source,
+            @Parameter(description = "Created at or after (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdFrom,
+            @Parameter(description = "Created at or before (ISO 8601)")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant createdTo,
+            @Parameter(description = "Keyword to search for in description or source") @RequestParam(required = false) String keyword,
+            @Parameter(description = "Detail filters as key:value, e.g. host:web-01 (repeatable, all must match)")
+            @RequestParam(required = false) List<String> detail,
+            @Parameter(description = "Number of alerts in the snapshot") @RequestParam(defaultValue = "50") int size) {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .statuses(status)
+                .severities(severity)
+                .assignee(assignee)
+                .source(source)
+                .createdFrom(createdFrom)
+                .createdTo(createdTo)
+                .keyword(keyword)
+                .details(detailFilters(detail))
+                .build();
+        log.debug("Received request to stream alerts by filter: {}", criteria);
+        FindAlertsByFilterQuery query = new FindAlertsByFilterQuery(criteria, null, null, 0, size, null, false,
+                AlertFieldSets.SUMMARY);
+        SubscriptionQueryResult<PagedAlertResponse, AlertChangeDto> result = queryGateway.subscriptionQuery(
+                query,
+                ResponseTypes.instanceOf(PagedAlertResponse.class),
+                ResponseTypes.instanceOf(AlertChangeDto.class));
+        Flux<ServerSentEvent<Object>> snapshot = result.initialResult()
+                .map(page -> ServerSentEvent.<Object>builder().event("snapshot").data(page).build())
+                .flux();
+        return stream(snapshot, result);
+    }
+
+    private Flux<ServerSentEvent<Object>> stream(Flux<ServerSentEvent<Object>> snapshot,
+                                                 SubscriptionQueryResult<?, AlertChangeDto> result) {
+        Flux<ServerSentEvent<Object>> changes = result.updates()
+                .bufferTimeout(maxBatchSize, Duration.ofMillis(coalesceWindowMs))
+                .map(AlertStreamController::coalesce)
+                // Drains the subscription query at its own pace; overflows only for this subscriber
+                .onBackpressureBuffer(maxPendingBatches)
+                .flatMapIterable(batch -> batch)
+                .map(change -> ServerSentEvent.<Object>builder().event("change").data(change).build())
+                .onErrorResume(e -> {
+                    log.info("Ending alert change stream: {}", e.getMessage());
+                    return Flux.just(ServerSentEvent.<Object>builder().event("resync").build());
+                });
+        return Flux.concat(snapshot, changes)
+                .doFinally(signal -> result.cancel());
+    }
+
+    /**
+     * Folds the changes of one window into one change per alert, in order of first appearance.
+     */
+    private static List<AlertChangeDto> coalesce(List<AlertChangeDto> changes) {
+        Map<UUID, AlertChangeDto> byAlert = new LinkedHashMap<>();
+        for (AlertChangeDto change : changes) {
+            byAlert.merge(change.getAlertId(), change, AlertStreamController::merge);
+        }
+        return new ArrayList<>(byAlert.values());
+    }
+
+    private static AlertChangeDto merge(AlertChangeDto earlier, AlertChangeDto later) {
+        if (later.getType() == AlertChangeDto.Type.LEFT_FILTER || earlier.getType() == AlertChangeDto.Type.LEFT_FILTER) {
+            return later; // Re-entering the filter always carries the full summary
+        }
+        Map<String, Object> merged = new LinkedHashMap<>();
+        if (earlier.getChanges() != null) {
+            merged.putAll(earlier.getChanges());
+        }
+        if (later.getChanges() != null) {
+            merged.putAll(later.getChanges());
+        }
+        return later.toBuilder()
+                .changes(merged.isEmpty() ? null : merged)
+                .alert(later.getAlert() != null ? later.getAlert() : earlier.getAlert())
+                .build();
+    }
+
+    private Map<String, String> detailFilters(List<String> detail) {
+        try {
+            return AlertDetailFilters.parse(detail);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
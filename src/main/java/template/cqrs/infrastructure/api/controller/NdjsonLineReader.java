@@ -0,0 +1,51 @@
+package template.cqrs.infrastructure.api.controller;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads an NDJSON body one UTF-8 line at a time (without its {@code \n} or {@code \r\n}), never buffering more
+ * than {@code maxLineBytes}; the rest of a longer line is skipped and the line is reported as too long.
+ */
+final class NdjsonLineReader {
+
+    private final InputStream in;
+    private final int maxLineBytes;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+
+    NdjsonLineReader(InputStream in, int maxLineBytes) {
+        this.in = in;
+        this.maxLineBytes = maxLineBytes;
+    }
+
+    /**
+     * @return the next line, or {@code null} at the end of the stream
+     */
+    Line next() throws IOException {
+        buffer.reset();
+        boolean tooLong = false;
+        int last = -1;
+        int b;
+        while ((b = in.read()) != -1 && b != '\n') {
+            if (buffer.size() <= maxLineBytes) { // One byte over the limit, for the \r of a \r\n
+                buffer.write(b);
+            } else {
+                tooLong = true;
+            }
+            last = b;
+        }
+        if (b == -1 && buffer.size() == 0) {
+            return null;
+        }
+        int length = last == '\r' ? buffer.size() - 1 : buffer.size();
+        if (tooLong || length > maxLineBytes) {
+            return new Line(null, true);
+        }
+        return new Line(new String(buffer.toByteArray(), 0, length, StandardCharsets.UTF_8), false);
+    }
+
+    record Line(String text, boolean tooLong) {
+    }
+}
@@ -0,0 +1,27 @@
+package template.cqrs.infrastructure.api.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class BulkAlertCommandRequestDto {
+
+    public enum Action { ACKNOWLEDGE, ASSIGN, RESOLVE, CLOSE }
+
+    @NotNull(message = "Action cannot be null")
+    private Action action;
+
+    private List<UUID> alertIds;        // Either explicit ids...
+    private AlertSearchCriteria filter; // ...or the alerts matching a filter
+
+    @NotBlank(message = "PerformedBy user cannot be blank")
+    private String performedBy; // acknowledgedBy, assignedBy, resolvedBy or closedBy
+
+    private String assignee; // Required for ASSIGN
+    private String comment;  // Acknowledgement notes, resolution details (required for RESOLVE) or closing reason
+}
@@ -0,0 +1,33 @@
+package template.cqrs.infrastructure.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkAlertCommandResponseDto {
+
+    public enum Status { OK, NOT_FOUND, REJECTED, FAILED }
+
+    private BulkAlertCommandRequestDto.Action action;
+    private int requested;
+    private int succeeded;
+    private int failed;
+    private List<AlertResult> results; // In request (or filter match) order
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class AlertResult {
+        private UUID alertId;
+        private Status status;
+        private String error; // Null when the command succeeded
+    }
+}
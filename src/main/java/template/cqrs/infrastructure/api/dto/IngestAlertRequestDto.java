@@ -0,0 +1,20 @@
+package template.cqrs.infrastructure.api.dto;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.UUID;
+
+/**
+ * One line of {@code POST /api/v1/alerts/ingest}: a create-alert request with an optional client-chosen id.
+ * A stream resent after a failure then creates each alert once; lines whose alert already exists are reported as
+ * {@code EXISTS}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@ToString(callSuper = true)
+public class IngestAlertRequestDto extends CreateAlertRequestDto {
+
+    private UUID alertId; // Optional, generated when absent
+}
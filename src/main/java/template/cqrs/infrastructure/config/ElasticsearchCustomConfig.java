@@ -1,5 +1,6 @@
 package template.cqrs.infrastructure.config;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.ElasticsearchTransport;
@@ -65,4 +66,13 @@ public class ElasticsearchCustomConfig {
 
         return new ElasticsearchClient(transport);
     }
+
+    /**
+     * Non-blocking counterpart of {@link #elasticsearchClient}, sharing its transport (connection pool and JSON
+     * mapper). Used by the query handlers, which return futures instead of blocking Axon's query threads.
+     */
+    @Bean
+    public ElasticsearchAsyncClient elasticsearchAsyncClient(ElasticsearchClient elasticsearchClient) {
+        return new ElasticsearchAsyncClient(elasticsearchClient._transport(), elasticsearchClient._transportOptions());
+    }
 }
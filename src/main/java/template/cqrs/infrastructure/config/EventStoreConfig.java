@@ -0,0 +1,63 @@
+package template.cqrs.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.common.jdbc.PersistenceExceptionResolver;
+import org.axonframework.common.jpa.EntityManagerProvider;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.jpa.JpaEventStorageEngine;
+import org.axonframework.serialization.Serializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import template.cqrs.infrastructure.eventstore.AlertEventArchive;
+import template.cqrs.infrastructure.eventstore.ArchiveAwareEventStorageEngine;
+import template.cqrs.infrastructure.eventstore.CompressingSerializer;
+import template.cqrs.infrastructure.eventstore.PayloadCompressionCodec;
+
+/**
+ * Defines the JPA event storage engine explicitly so event and snapshot payloads are written through a
+ * {@link CompressingSerializer}. Only what is stored in PostgreSQL is compressed; the {@code eventSerializer}
+ * bean used by the Kafka publisher is left as is.
+ * <p>
+ * {@code app.event-store.compression.codec} selects the codec ({@code NONE}, {@code DEFLATE}, {@code GZIP}) and
+ * {@code app.event-store.compression.threshold-bytes} the minimum payload size worth compressing. Stored data
+ * records its own codec, so changing either setting never breaks reading existing events.
+ * <p>
+ * The engine is wrapped in an {@link ArchiveAwareEventStorageEngine}, so full-stream loads of archived alerts
+ * include the events held by the {@link AlertEventArchive}.
+ */
+@Configuration
+@Slf4j
+public class EventStoreConfig {
+
+    @Value("${app.event-store.compression.codec:DEFLATE}")
+    private PayloadCompressionCodec codec;
+
+    @Value("${app.event-store.compression.threshold-bytes:512}")
+    private int thresholdBytes;
+
+    @Bean
+    public EventStorageEngine eventStorageEngine(Serializer defaultSerializer,
+                                                 @Qualifier("eventSerializer") Serializer eventSerializer,
+                                                 PersistenceExceptionResolver persistenceExceptionResolver,
+                                                 org.axonframework.config.Configuration configuration,
+                                                 EntityManagerProvider entityManagerProvider,
+                                                 TransactionManager transactionManager,
+                                                 MeterRegistry meterRegistry,
+                                                 ObjectProvider<AlertEventArchive> alertEventArchive) {
+        log.info("Event store payload compression: codec={}, thresholdBytes={}", codec, thresholdBytes);
+        EventStorageEngine jpaEngine = JpaEventStorageEngine.builder()
+                .snapshotSerializer(new CompressingSerializer(defaultSerializer, codec, thresholdBytes, meterRegistry, "snapshot"))
+                .eventSerializer(new CompressingSerializer(eventSerializer, codec, thresholdBytes, meterRegistry, "event"))
+                .upcasterChain(configuration.upcasterChain())
+                .persistenceExceptionResolver(persistenceExceptionResolver)
+                .entityManagerProvider(entityManagerProvider)
+                .transactionManager(transactionManager)
+                .build();
+        return new ArchiveAwareEventStorageEngine(jpaEngine, alertEventArchive);
+    }
+}
@@ -0,0 +1,27 @@
+package template.cqrs.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.tokenstore.inmemory.InMemoryTokenStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+import template.cqrs.read_model.memory.AlertCountersProjection;
+import template.cqrs.read_model.memory.OpenAlertIndex;
+
+/**
+ * Gives the in-memory projections an in-memory token store. Their state lives only in this JVM, so their tokens
+ * must not survive it either: every start replays the event stream from the beginning and rebuilds them.
+ */
+@Configuration
+@Slf4j
+public class InMemoryProjectionConfig {
+
+    @Autowired
+    public void registerInMemoryTokenStores(EventProcessingConfigurer configurer) {
+        configurer.registerTokenStore(AlertCountersProjection.PROCESSING_GROUP, c -> new InMemoryTokenStore());
+        // Only used when app.query.open-alerts.enabled registers the OpenAlertIndex handler
+        configurer.registerTokenStore(OpenAlertIndex.PROCESSING_GROUP, c -> new InMemoryTokenStore());
+        log.info("Registered in-memory token stores for processing groups {} and {}",
+                AlertCountersProjection.PROCESSING_GROUP, OpenAlertIndex.PROCESSING_GROUP);
+    }
+}
@@ -0,0 +1,97 @@
+package template.cqrs.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.common.jdbc.JdbcException;
+import org.axonframework.common.jdbc.UnitOfWorkAwareConnectionProviderWrapper;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.eventhandling.TrackingEventProcessorConfiguration;
+import org.axonframework.eventhandling.tokenstore.TokenStore;
+import org.axonframework.eventhandling.tokenstore.jdbc.JdbcTokenStore;
+import org.axonframework.eventhandling.tokenstore.jdbc.PostgresTokenTableFactory;
+import org.axonframework.eventhandling.tokenstore.jdbc.TokenSchema;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.spring.jdbc.SpringDataSourceConnectionProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import template.cqrs.infrastructure.eventstore.ThrottledClaimJdbcTokenStore;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replaces Axon's auto-configured {@code JpaTokenStore} with a plain JDBC token store when
+ * {@code app.token-store.type=jdbc}. Token updates and claim extensions become single SQL statements on the
+ * shared data source instead of Hibernate entity loads and flushes.
+ * <p>
+ * Tokens live in their own {@code bytea} table ({@code app.token-store.jdbc.table}); the JPA {@code token_entry}
+ * table is left untouched. Processors without a token in the new table start from their initial token, so copy
+ * the existing rows over before switching if a replay is not wanted.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.token-store.type", havingValue = "jdbc")
+@Slf4j
+public class JdbcTokenStoreConfig {
+
+    @Value("${app.token-store.jdbc.table:token_entry_jdbc}")
+    private String tokenTable;
+
+    @Value("${app.token-store.claim-timeout-ms:30000}")
+    private long claimTimeoutMs;
+
+    @Value("${app.token-store.claim-extension-threshold-ms:5000}")
+    private long claimExtensionThresholdMs;
+
+    @Value("${app.token-store.token-claim-interval-ms:5000}")
+    private long tokenClaimIntervalMs;
+
+    @Value("${app.token-store.event-availability-timeout-ms:5000}")
+    private long eventAvailabilityTimeoutMs;
+
+    @Bean
+    public TokenStore tokenStore(DataSource dataSource, Serializer serializer) {
+        TokenSchema schema = TokenSchema.builder()
+                .setTokenTable(tokenTable)
+                .setProcessorNameColumn("processor_name")
+                .setSegmentColumn("segment")
+                .setTokenColumn("token")
+                .setTokenTypeColumn("token_type")
+                .setTimestampColumn("timestamp")
+                .setOwnerColumn("owner")
+                .build();
+
+        JdbcTokenStore.Builder builder = JdbcTokenStore.builder()
+                .connectionProvider(new UnitOfWorkAwareConnectionProviderWrapper(new SpringDataSourceConnectionProvider(dataSource)))
+                .serializer(serializer)
+                .schema(schema)
+                .contentType(byte[].class);
+        // Rejects a threshold that is not below half the claim timeout
+        JdbcTokenStore tokenStore = new ThrottledClaimJdbcTokenStore(builder, Duration.ofMillis(claimTimeoutMs),
+                Duration.ofMillis(claimExtensionThresholdMs));
+
+        try {
+            tokenStore.createSchema(PostgresTokenTableFactory.INSTANCE);
+        } catch (JdbcException e) {
+            // Table already exists or the user lacks DDL rights; the store fails fast on first use if it is missing
+            log.debug("Token table {} not created: {}", tokenTable, e.getMessage());
+        }
+        log.info("Using JDBC token store (table={}, claimTimeoutMs={}, claimExtensionThresholdMs={}).",
+                tokenTable, claimTimeoutMs, claimExtensionThresholdMs);
+        return tokenStore;
+    }
+
+    @Autowired
+    public void configureClaimManagement(EventProcessingConfigurer configurer) {
+        // Idle processors extend their claims once per event availability timeout; keep that well above the 1s default
+        configurer.registerTrackingEventProcessorConfiguration(configuration ->
+                TrackingEventProcessorConfiguration.forSingleThreadedProcessing()
+                        .andEventAvailabilityTimeout(eventAvailabilityTimeoutMs, TimeUnit.MILLISECONDS)
+                        .andTokenClaimInterval(tokenClaimIntervalMs, TimeUnit.MILLISECONDS));
+        configurer.registerPooledStreamingEventProcessorConfiguration((configuration, builder) -> builder
+                .claimExtensionThreshold(claimExtensionThresholdMs)
+                .tokenClaimInterval(tokenClaimIntervalMs));
+    }
+}
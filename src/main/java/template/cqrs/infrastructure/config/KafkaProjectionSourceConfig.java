@@ -0,0 +1,107 @@
+package template.cqrs.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.axonframework.config.EventProcessingConfigurer;
+import org.axonframework.extensions.kafka.eventhandling.KafkaMessageConverter;
+import org.axonframework.extensions.kafka.eventhandling.consumer.AsyncFetcher;
+import org.axonframework.extensions.kafka.eventhandling.consumer.DefaultConsumerFactory;
+import org.axonframework.extensions.kafka.eventhandling.consumer.Fetcher;
+import org.axonframework.extensions.kafka.eventhandling.consumer.streamable.KafkaEventMessage;
+import org.axonframework.extensions.kafka.eventhandling.consumer.streamable.SortedKafkaMessageBuffer;
+import org.axonframework.extensions.kafka.eventhandling.consumer.streamable.StreamableKafkaMessageSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Runs the {@code alert-projection-group} as a pooled streaming processor over the Axon events Kafka topic
+ * instead of tailing the PostgreSQL event store. Enabled with {@code app.projection.source=kafka}; with the
+ * default ({@code event-store}) Axon keeps sourcing the projection from the JPA event store.
+ * <p>
+ * A single Kafka consumer feeds the processor's coordinator, which hands events to worker segments by aggregate
+ * identifier: alerts are projected in parallel while the events of one alert stay in order. Progress is stored as
+ * a {@code KafkaTrackingToken} (an offset per topic partition), so query-side replicas never read the event store.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.projection.source", havingValue = "kafka")
+@Slf4j
+public class KafkaProjectionSourceConfig {
+
+    private static final String PROJECTION_GROUP = "alert-projection-group";
+
+    @Value("${app.kafka.topic.alerts.events}")
+    private String alertsEventsTopic;
+
+    @Value("${spring.kafka.bootstrap-servers}")
+    private String bootstrapServers;
+
+    @Value("${app.projection.kafka.segments:4}")
+    private int segments; // Ideally equal to the partition count of the events topic
+
+    @Value("${app.projection.kafka.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.projection.kafka.poll-timeout-ms:5000}")
+    private long pollTimeoutMs;
+
+    @Value("${app.projection.kafka.max-poll-records:500}")
+    private int maxPollRecords;
+
+    @Value("${app.projection.kafka.buffer-capacity:1000}")
+    private int bufferCapacity;
+
+    @Bean(destroyMethod = "shutdown")
+    public Fetcher<String, byte[], KafkaEventMessage> alertEventsKafkaFetcher() {
+        return AsyncFetcher.<String, byte[], KafkaEventMessage>builder()
+                .pollTimeout(pollTimeoutMs)
+                .build();
+    }
+
+    @Bean
+    public StreamableKafkaMessageSource<String, byte[]> alertEventsKafkaMessageSource(
+            Fetcher<String, byte[], KafkaEventMessage> alertEventsKafkaFetcher,
+            KafkaMessageConverter<String, byte[]> kafkaMessageConverter) {
+        return StreamableKafkaMessageSource.<String, byte[]>builder()
+                .topics(Collections.singletonList(alertsEventsTopic))
+                .consumerFactory(new DefaultConsumerFactory<>(consumerConfiguration()))
+                .fetcher(alertEventsKafkaFetcher)
+                .messageConverter(kafkaMessageConverter) // Same converter the Axon KafkaPublisher writes with
+                .bufferFactory(() -> new SortedKafkaMessageBuffer<>(bufferCapacity))
+                .build();
+    }
+
+    @Autowired
+    public void registerProjectionProcessor(EventProcessingConfigurer configurer,
+                                            StreamableKafkaMessageSource<String, byte[]> alertEventsKafkaMessageSource) {
+        configurer.registerPooledStreamingEventProcessor(
+                PROJECTION_GROUP,
+                configuration -> alertEventsKafkaMessageSource,
+                (configuration, builder) -> builder
+                        .initialSegmentCount(segments)
+                        .batchSize(batchSize));
+        log.info("Processing group {} sourced from Kafka topic {} with {} segments.",
+                PROJECTION_GROUP, alertsEventsTopic, segments);
+    }
+
+    private Map<String, Object> consumerConfiguration() {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        config.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+        config.put(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, maxPollRecords);
+        // Offsets live in the Axon token store, not in Kafka consumer groups
+        config.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        // The Axon publisher uses transactional producers; never project events of aborted transactions
+        config.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        return config;
+    }
+}
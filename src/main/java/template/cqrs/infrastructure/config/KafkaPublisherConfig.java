@@ -0,0 +1,65 @@
+package template.cqrs.infrastructure.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.extensions.kafka.KafkaProperties;
+import org.axonframework.extensions.kafka.eventhandling.DefaultKafkaMessageConverter;
+import org.axonframework.extensions.kafka.eventhandling.KafkaMessageConverter;
+import org.axonframework.extensions.kafka.eventhandling.producer.ConfirmationMode;
+import org.axonframework.extensions.kafka.eventhandling.producer.DefaultProducerFactory;
+import org.axonframework.extensions.kafka.eventhandling.producer.ProducerFactory;
+import org.axonframework.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import template.cqrs.infrastructure.kafka.producer.MeteredProducerFactory;
+
+/**
+ * Configures how the Axon {@code KafkaPublisher} writes domain events to {@code axon.kafka.default-topic}.
+ * <ul>
+ *     <li>Records are keyed by aggregate identifier (the alertId; the converter's default sequencing policy), so
+ *     all events of one alert land on the same partition in order while different alerts spread over all
+ *     partitions.</li>
+ *     <li>Batching and compression come from {@code axon.kafka.producer.properties.*}
+ *     ({@code linger.ms}, {@code batch.size}, {@code compression.type}).</li>
+ *     <li>{@code axon.kafka.publisher.confirmation-mode} selects how a commit waits for the broker:
+ *     {@code WAIT_FOR_ACK} (and transactional producers when {@code axon.kafka.producer.transaction-id-prefix} is
+ *     set) blocks command handling until the broker acknowledges; {@code NONE} hands records to the idempotent
+ *     producer and returns immediately.</li>
+ * </ul>
+ * Both beans replace the Axon Kafka auto-configuration defaults.
+ */
+@Configuration
+@Slf4j
+public class KafkaPublisherConfig {
+
+    @Bean
+    public KafkaMessageConverter<String, byte[]> kafkaMessageConverter(@Qualifier("eventSerializer") Serializer eventSerializer) {
+        return DefaultKafkaMessageConverter.builder()
+                .serializer(eventSerializer)
+                .build();
+    }
+
+    @Bean
+    public ProducerFactory<String, byte[]> kafkaProducerFactory(KafkaProperties kafkaProperties, MeterRegistry meterRegistry) {
+        ConfirmationMode confirmationMode = kafkaProperties.getPublisher().getConfirmationMode();
+        String transactionIdPrefix = kafkaProperties.getProducer().getTransactionIdPrefix();
+
+        // The metered factory adds a close hook to the configuration, so its delegate is built from the extended one
+        return new MeteredProducerFactory<String, byte[]>(configuration -> {
+            DefaultProducerFactory.Builder<String, byte[]> builder = DefaultProducerFactory.<String, byte[]>builder()
+                    .configuration(configuration)
+                    .confirmationMode(confirmationMode);
+            // Transactions always block the commit, so a configured prefix only applies to the confirming modes
+            if (StringUtils.hasText(transactionIdPrefix) && confirmationMode != ConfirmationMode.NONE) {
+                builder.transactionalIdPrefix(transactionIdPrefix)
+                        .confirmationMode(ConfirmationMode.TRANSACTIONAL);
+            }
+            ProducerFactory<String, byte[]> producerFactory = builder.build();
+            log.info("Axon Kafka publisher producer factory created with confirmation mode {}.", producerFactory.confirmationMode());
+            return producerFactory;
+        }, kafkaProperties.buildProducerProperties(), meterRegistry, Tags.of("publisher", "axon-events"));
+    }
+}
@@ -0,0 +1,59 @@
+package template.cqrs.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.commandhandling.AsynchronousCommandBus;
+import org.axonframework.commandhandling.CommandBus;
+import org.axonframework.commandhandling.DuplicateCommandHandlerResolver;
+import org.axonframework.common.transaction.TransactionManager;
+import org.axonframework.messaging.interceptors.CorrelationDataInterceptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Virtual-thread execution mode, switched on with {@code spring.threads.virtual.enabled=true}.
+ * <p>
+ * Spring Boot then runs Tomcat requests and {@code @KafkaListener} dispatch on virtual threads. This configuration
+ * adds the command side: commands are handled by an {@link AsynchronousCommandBus} that starts one virtual thread
+ * per command, so blocking event store appends no longer hold a platform thread. Queries need no executor of their
+ * own: the {@code SimpleQueryBus} runs handlers on the dispatching (virtual) request thread, and the handlers
+ * return futures of the asynchronous Elasticsearch client.
+ * <p>
+ * With the property unset or {@code false} Axon's default {@code SimpleCommandBus} and Tomcat's platform-thread pool
+ * are used, which is the baseline for {@code benchmarks/virtual-threads.sh}. No measurements are recorded with the
+ * project; run the script against the target infrastructure before turning the mode on.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@Slf4j
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "close")
+    public ExecutorService commandExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("command-", 0).factory());
+    }
+
+    @Bean
+    @Qualifier("localSegment")
+    public CommandBus commandBus(@Qualifier("commandExecutor") ExecutorService commandExecutor,
+                                 TransactionManager transactionManager,
+                                 org.axonframework.config.Configuration axonConfiguration,
+                                 DuplicateCommandHandlerResolver duplicateCommandHandlerResolver) {
+        AsynchronousCommandBus commandBus = AsynchronousCommandBus.builder()
+                .executor(commandExecutor)
+                .transactionManager(transactionManager)
+                .duplicateCommandHandlerResolver(duplicateCommandHandlerResolver)
+                .messageMonitor(axonConfiguration.messageMonitor(CommandBus.class, "commandBus"))
+                .spanFactory(axonConfiguration.spanFactory())
+                .build();
+        // Same tracing spans (above) and correlation data propagation as Axon's auto-configured bus
+        commandBus.registerHandlerInterceptor(new CorrelationDataInterceptor<>(axonConfiguration.correlationDataProviders()));
+        log.info("Virtual threads enabled: commands are handled on an AsynchronousCommandBus with a virtual thread per command.");
+        return commandBus;
+    }
+}
@@ -0,0 +1,107 @@
+package template.cqrs.infrastructure.eventstore;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.common.DateTimeUtils;
+import org.axonframework.serialization.Serializer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import template.cqrs.domain.model.alert.events.AlertClosedEvent;
+import template.cqrs.domain.model.alert.events.AlertDeletedEvent;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Periodically moves the event streams of terminal alerts (closed or deleted for longer than the configured
+ * grace period) from the hot event store into the {@link AlertEventArchive}, keeping the tracking and
+ * aggregate-load indexes of {@code domain_event_entry} small.
+ * <p>
+ * Candidates are taken oldest first by global index. An alert whose archival throws or moves nothing is recorded
+ * in {@code <schema>.alert_archive_failure} and skipped once it reached {@code app.event-store.archive.max-attempts},
+ * so a few stuck alerts cannot fill every batch; deleting its row there retries it. Archived events leave the hot
+ * store, so the grace period must exceed the worst lag of any tracking processor, or that processor only sees the
+ * alert's restored state.
+ */
+@Component
+@ConditionalOnProperty(name = "app.event-store.archive.enabled", havingValue = "true")
+@Slf4j
+public class AlertArchivalJob {
+
+    private final AlertEventArchive archive;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<String> terminalPayloadTypes;
+
+    @Value("${app.event-store.archive.min-age-ms:604800000}")
+    private long minAgeMs; // Grace period after the terminal event, default 7 days
+
+    @Value("${app.event-store.archive.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.event-store.archive.max-attempts:3}")
+    private int maxAttempts;
+
+    public AlertArchivalJob(AlertEventArchive archive, JdbcTemplate jdbcTemplate,
+                            @Qualifier("eventSerializer") Serializer eventSerializer) {
+        this.archive = archive;
+        this.jdbcTemplate = jdbcTemplate;
+        this.terminalPayloadTypes = List.of(
+                eventSerializer.typeForClass(AlertClosedEvent.class).getName(),
+                eventSerializer.typeForClass(AlertDeletedEvent.class).getName());
+    }
+
+    @Scheduled(initialDelayString = "${app.event-store.archive.interval-ms:3600000}",
+            fixedDelayString = "${app.event-store.archive.interval-ms:3600000}")
+    public void archiveTerminalAlerts() {
+        List<String> candidates = findCandidates();
+        if (candidates.isEmpty()) {
+            log.debug("No terminal alerts to archive.");
+            return;
+        }
+
+        int archivedAlerts = 0;
+        int movedEvents = 0;
+        for (String alertId : candidates) {
+            try {
+                int moved = archive.archive(alertId);
+                if (moved > 0) {
+                    archive.clearFailure(alertId);
+                    archivedAlerts++;
+                    movedEvents += moved;
+                } else {
+                    recordFailure(alertId, "No events archived");
+                }
+            } catch (Exception e) {
+                log.error("Failed to archive event stream of alert {}: {}", alertId, e.getMessage(), e);
+                recordFailure(alertId, e.getMessage());
+            }
+        }
+        log.info("Archival run moved {} events of {} terminal alerts to cold storage.", movedEvents, archivedAlerts);
+    }
+
+    private List<String> findCandidates() {
+        String cutoff = DateTimeUtils.formatInstant(Instant.now().minus(Duration.ofMillis(minAgeMs)));
+        return jdbcTemplate.queryForList(
+                "SELECT e.aggregate_identifier FROM domain_event_entry e " +
+                        "WHERE e.payload_type IN (?, ?) AND e.time_stamp < ? " +
+                        "AND NOT EXISTS (SELECT 1 FROM " + archive.failureTable() + " f " +
+                        "WHERE f.aggregate_identifier = e.aggregate_identifier AND f.attempts >= ?) " +
+                        "GROUP BY e.aggregate_identifier ORDER BY MIN(e.global_index) LIMIT ?",
+                String.class, terminalPayloadTypes.get(0), terminalPayloadTypes.get(1), cutoff, maxAttempts, batchSize);
+    }
+
+    private void recordFailure(String alertId, String error) {
+        try {
+            int attempts = archive.recordFailure(alertId, error);
+            if (attempts >= maxAttempts) {
+                log.warn("Alert {} failed archival {} times and is skipped from now on: {}", alertId, attempts, error);
+            }
+        } catch (Exception e) {
+            log.error("Failed to record archival failure of alert {}: {}", alertId, e.getMessage(), e);
+        }
+    }
+}
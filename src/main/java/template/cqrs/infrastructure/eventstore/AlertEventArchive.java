@@ -0,0 +1,386 @@
+package template.cqrs.infrastructure.eventstore;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.AggregateSnapshotter;
+import org.axonframework.eventsourcing.GenericAggregateFactory;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.EventStore;
+import org.axonframework.eventsourcing.eventstore.jpa.DomainEventEntry;
+import org.axonframework.messaging.MetaData;
+import org.axonframework.messaging.annotation.ClasspathHandlerDefinition;
+import org.axonframework.messaging.annotation.ClasspathParameterResolverFactory;
+import org.axonframework.serialization.SerializedMetaData;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+import org.axonframework.serialization.SimpleSerializedType;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import template.cqrs.domain.model.alert.aggregate.AlertAggregate;
+import template.cqrs.domain.model.alert.events.AlertStateRestoredEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Cold storage for the event streams of alerts that reached a terminal state.
+ * <p>
+ * Archiving an alert runs in one transaction. It makes sure a snapshot of the aggregate exists at its last event,
+ * creating and storing it if needed and reading it back to confirm it. It then copies every event covered by that
+ * snapshot into a single GZIP-compressed row of {@code <schema>.alert_event_stream} and deletes exactly those
+ * rows from {@code domain_event_entry}. No stored event is ever rewritten.
+ * <p>
+ * Finally a new {@link AlertStateRestoredEvent} holding the snapshot state is appended after the archived events.
+ * Processors handle it as an upsert, so a reset or replay of any processor still rebuilds archived alerts in their
+ * final state. Aggregate loads use the snapshot plus that event, and {@link ArchiveAwareEventStorageEngine} serves
+ * loads of the full stream, for audits, from {@link #readArchivedEvents(String)}.
+ */
+@Component
+@ConditionalOnProperty(name = "app.event-store.archive.enabled", havingValue = "true")
+@Slf4j
+public class AlertEventArchive {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Serializer eventSerializer;
+    private final EventStorageEngine eventStorageEngine;
+    private final AlertSnapshotFactory snapshotFactory;
+    private final String restoredPayloadType;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${app.event-store.archive.schema:event_archive}")
+    private String archiveSchema;
+
+    public AlertEventArchive(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             @Qualifier("eventSerializer") Serializer eventSerializer,
+                             EventStorageEngine eventStorageEngine,
+                             EventStore eventStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventSerializer = eventSerializer;
+        this.eventStorageEngine = eventStorageEngine;
+        this.snapshotFactory = new AlertSnapshotFactory(AggregateSnapshotter.builder()
+                .eventStore(eventStore)
+                .aggregateFactories(new GenericAggregateFactory<>(AlertAggregate.class))
+                .parameterResolverFactory(ClasspathParameterResolverFactory.forClass(AlertAggregate.class))
+                .handlerDefinition(ClasspathHandlerDefinition.forClass(AlertAggregate.class)));
+        this.restoredPayloadType = eventSerializer.typeForClass(AlertStateRestoredEvent.class).getName();
+    }
+
+    @PostConstruct
+    public void createArchiveTable() {
+        if (!archiveSchema.matches("[A-Za-z_][A-Za-z0-9_]*")) {
+            throw new IllegalStateException("Invalid archive schema name: " + archiveSchema);
+        }
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archiveTable() + " (" +
+                "aggregate_identifier VARCHAR(255) PRIMARY KEY, " +
+                "aggregate_type VARCHAR(255), " +
+                "first_sequence_number BIGINT NOT NULL, " +
+                "last_sequence_number BIGINT NOT NULL, " +
+                "event_count INTEGER NOT NULL, " +
+                "archived_at TIMESTAMP WITH TIME ZONE NOT NULL, " +
+                "events BYTEA NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + failureTable() + " (" +
+                "aggregate_identifier VARCHAR(255) PRIMARY KEY, " +
+                "attempts INTEGER NOT NULL, " +
+                "last_error VARCHAR(1000), " +
+                "last_attempt_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+        // Supports the archival job's candidate query on terminal event types older than the grace period
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS domain_event_entry_payload_type_time_stamp_idx " +
+                "ON domain_event_entry (payload_type, time_stamp)");
+        log.info("Alert event archive tables {} and {} ready.", archiveTable(), failureTable());
+    }
+
+    /**
+     * Moves the events of the alert covered by a confirmed snapshot into the archive and appends an
+     * {@link AlertStateRestoredEvent} after them.
+     *
+     * @return the number of events moved to the archive, 0 if no snapshot could be confirmed
+     */
+    public int archive(String aggregateIdentifier) {
+        Integer moved = transactionTemplate.execute(status -> moveToArchive(aggregateIdentifier));
+        return moved != null ? moved : 0;
+    }
+
+    /**
+     * Returns the archived events of an alert in sequence order, or an empty list if nothing was archived.
+     */
+    public List<ArchivedEvent> readArchivedEvents(String aggregateIdentifier) {
+        List<ArchiveRow> rows = jdbcTemplate.query(
+                "SELECT aggregate_type, events FROM " + archiveTable() + " WHERE aggregate_identifier = ?",
+                (rs, rowNum) -> new ArchiveRow(rs.getString(1), rs.getBytes(2)), aggregateIdentifier);
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<ArchivedEvent> events = new ArrayList<>();
+        for (StoredEvent stored : decode(rows.get(0).events())) {
+            SerializedObject<byte[]> payload = new SimpleSerializedObject<>(stored.payload, byte[].class,
+                    new SimpleSerializedType(stored.payloadType, stored.payloadRevision));
+            Object deserializedPayload = eventSerializer.deserialize(CompressingSerializer.decompress(payload));
+            MetaData metaData = eventSerializer.deserialize(
+                    CompressingSerializer.decompress(new SerializedMetaData<>(stored.metaData, byte[].class)));
+            events.add(new ArchivedEvent(aggregateIdentifier, rows.get(0).aggregateType(), stored.sequenceNumber,
+                    stored.eventIdentifier, stored.timestamp, stored.payloadType, deserializedPayload, metaData));
+        }
+        return events;
+    }
+
+    /**
+     * Counts a failed or fruitless archival attempt for the alert.
+     *
+     * @return the number of attempts recorded so far
+     */
+    int recordFailure(String aggregateIdentifier, String error) {
+        String lastError = error != null && error.length() > 1000 ? error.substring(0, 1000) : error;
+        return jdbcTemplate.queryForObject("INSERT INTO " + failureTable() +
+                        " (aggregate_identifier, attempts, last_error, last_attempt_at) VALUES (?, 1, ?, ?)" +
+                        " ON CONFLICT (aggregate_identifier) DO UPDATE SET attempts = " + failureTable() + ".attempts + 1," +
+                        " last_error = EXCLUDED.last_error, last_attempt_at = EXCLUDED.last_attempt_at" +
+                        " RETURNING attempts",
+                Integer.class, aggregateIdentifier, lastError, Timestamp.from(Instant.now()));
+    }
+
+    void clearFailure(String aggregateIdentifier) {
+        jdbcTemplate.update("DELETE FROM " + failureTable() + " WHERE aggregate_identifier = ?", aggregateIdentifier);
+    }
+
+    String failureTable() {
+        return archiveSchema + ".alert_archive_failure";
+    }
+
+    private int moveToArchive(String aggregateIdentifier) {
+        // Serializes concurrent runs on several nodes for the same alert
+        jdbcTemplate.queryForObject("SELECT pg_advisory_xact_lock(hashtext(?))", Object.class, aggregateIdentifier);
+
+        Optional<Long> lastSequence = eventStorageEngine.lastSequenceNumberFor(aggregateIdentifier);
+        if (lastSequence.isEmpty()) {
+            return 0;
+        }
+        Optional<DomainEventMessage<?>> snapshot = confirmedSnapshot(aggregateIdentifier, lastSequence.get());
+        if (snapshot.isEmpty() || !(snapshot.get().getPayload() instanceof AlertAggregate aggregate)) {
+            log.warn("No snapshot confirmed for alert {}; its events stay in the event store.", aggregateIdentifier);
+            return 0;
+        }
+        long snapshotSequence = snapshot.get().getSequenceNumber();
+
+        List<DomainEventEntry> entries = entityManager.createQuery(
+                        "SELECT e FROM DomainEventEntry e WHERE e.aggregateIdentifier = :id AND e.sequenceNumber <= :seq " +
+                                "ORDER BY e.sequenceNumber", DomainEventEntry.class)
+                .setParameter("id", aggregateIdentifier)
+                .setParameter("seq", snapshotSequence)
+                .getResultList();
+        // A restored-state event appended by an earlier archival is not history: it is removed but not archived
+        List<DomainEventEntry> archivable = entries.stream()
+                .filter(entry -> !restoredPayloadType.equals(entry.getPayload().getType().getName()))
+                .toList();
+        if (archivable.isEmpty()) {
+            return 0;
+        }
+
+        List<StoredEvent> stream = new ArrayList<>();
+        List<byte[]> existing = jdbcTemplate.query(
+                "SELECT events FROM " + archiveTable() + " WHERE aggregate_identifier = ? FOR UPDATE",
+                (rs, rowNum) -> rs.getBytes(1), aggregateIdentifier);
+        if (!existing.isEmpty()) {
+            stream.addAll(decode(existing.get(0))); // Events appended after an earlier archival, e.g. a delete after close
+        }
+        String aggregateType = archivable.get(0).getType();
+        for (DomainEventEntry entry : archivable) {
+            SerializedObject<?> payload = entry.getPayload();
+            SerializedObject<?> metaData = entry.getMetaData();
+            stream.add(new StoredEvent(entry.getSequenceNumber(), entry.getEventIdentifier(), entry.getTimestamp(),
+                    payload.getType().getName(), payload.getType().getRevision(),
+                    (byte[]) payload.getData(), (byte[]) metaData.getData()));
+        }
+
+        jdbcTemplate.update("INSERT INTO " + archiveTable() +
+                        " (aggregate_identifier, aggregate_type, first_sequence_number, last_sequence_number, event_count, archived_at, events)" +
+                        " VALUES (?, ?, ?, ?, ?, ?, ?)" +
+                        " ON CONFLICT (aggregate_identifier) DO UPDATE SET last_sequence_number = EXCLUDED.last_sequence_number," +
+                        " event_count = EXCLUDED.event_count, archived_at = EXCLUDED.archived_at, events = EXCLUDED.events",
+                aggregateIdentifier, aggregateType, stream.get(0).sequenceNumber,
+                stream.get(stream.size() - 1).sequenceNumber, stream.size(), Timestamp.from(Instant.now()), encode(stream));
+
+        int deleted = entityManager.createQuery(
+                        "DELETE FROM DomainEventEntry e WHERE e.aggregateIdentifier = :id AND e.sequenceNumber <= :seq")
+                .setParameter("id", aggregateIdentifier)
+                .setParameter("seq", snapshotSequence)
+                .executeUpdate();
+        // A new event, serialized like any other by the storage engine; a concurrent append fails the transaction
+        eventStorageEngine.appendEvents(new GenericDomainEventMessage<>(snapshot.get().getType(), aggregateIdentifier,
+                snapshotSequence + 1, restoredState(aggregate)));
+        log.info("Archived {} events of alert {} (snapshot at sequence {}, {} rows removed).",
+                archivable.size(), aggregateIdentifier, snapshotSequence, deleted);
+        return archivable.size();
+    }
+
+    /**
+     * Returns the snapshot of the alert at the given sequence number, creating and storing it when the latest
+     * snapshot is older. The stored snapshot is read back, so only a snapshot that exists in this transaction is
+     * returned.
+     */
+    private Optional<DomainEventMessage<?>> confirmedSnapshot(String aggregateIdentifier, long lastSequence) {
+        Optional<DomainEventMessage<?>> latest = eventStorageEngine.readSnapshot(aggregateIdentifier);
+        if (latest.isPresent() && latest.get().getSequenceNumber() == lastSequence) {
+            return latest;
+        }
+        DomainEventStream events = latest.isPresent()
+                ? DomainEventStream.concat(DomainEventStream.of(latest.get()),
+                        eventStorageEngine.readEvents(aggregateIdentifier, latest.get().getSequenceNumber() + 1))
+                : eventStorageEngine.readEvents(aggregateIdentifier);
+        DomainEventMessage<?> created = snapshotFactory.snapshotOf(aggregateIdentifier, events);
+        if (created == null || created.getSequenceNumber() != lastSequence) {
+            return Optional.empty();
+        }
+        eventStorageEngine.storeSnapshot(created);
+        return eventStorageEngine.readSnapshot(aggregateIdentifier)
+                .filter(stored -> stored.getSequenceNumber() == lastSequence);
+    }
+
+    private static AlertStateRestoredEvent restoredState(AlertAggregate aggregate) {
+        return AlertStateRestoredEvent.builder()
+                .alertId(aggregate.getAlertId())
+                .severity(aggregate.getSeverity())
+                .description(aggregate.getDescription())
+                .source(aggregate.getSource())
+                .status(aggregate.getStatus())
+                .details(aggregate.getDetails())
+                .createdAt(aggregate.getCreatedAt())
+                .updatedAt(aggregate.getUpdatedAt())
+                .eventTimestamp(aggregate.getEventTimestamp())
+                .initiatedBy(aggregate.getInitiatedBy())
+                .updatedBy(aggregate.getUpdatedBy())
+                .acknowledgedAt(aggregate.getAcknowledgedAt())
+                .acknowledgedBy(aggregate.getAcknowledgedBy())
+                .acknowledgementNotes(aggregate.getAcknowledgementNotes())
+                .resolvedAt(aggregate.getResolvedAt())
+                .resolvedBy(aggregate.getResolvedBy())
+                .resolutionDetails(aggregate.getResolutionDetails())
+                .closedAt(aggregate.getClosedAt())
+                .closedBy(aggregate.getClosedBy())
+                .closingReason(aggregate.getClosingReason())
+                .assignee(aggregate.getAssignee())
+                .assignedAt(aggregate.getAssignedAt())
+                .assignedBy(aggregate.getAssignedBy())
+                .notes(aggregate.getNotes() != null ? List.copyOf(aggregate.getNotes()) : List.of())
+                .deletedBy(aggregate.getDeletedBy())
+                .deletedAt(aggregate.getDeletedAt())
+                .deletionReason(aggregate.getDeletionReason())
+                .build();
+    }
+
+    private String archiveTable() {
+        return archiveSchema + ".alert_event_stream";
+    }
+
+    /**
+     * Exposes the snapshot creation of {@link AggregateSnapshotter}, so the archive can create a snapshot inside its
+     * own transaction instead of scheduling one.
+     */
+    private static final class AlertSnapshotFactory extends AggregateSnapshotter {
+
+        private AlertSnapshotFactory(Builder builder) {
+            super(builder);
+        }
+
+        private DomainEventMessage<?> snapshotOf(String aggregateIdentifier, DomainEventStream events) {
+            return createSnapshot(AlertAggregate.class, aggregateIdentifier, events);
+        }
+    }
+
+    // --- Archive row format: GZIP(version, count, [event]*) ---
+
+    private static byte[] encode(List<StoredEvent> events) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeInt(events.size());
+            for (StoredEvent event : events) {
+                out.writeLong(event.sequenceNumber);
+                out.writeUTF(event.eventIdentifier);
+                out.writeLong(event.timestamp.getEpochSecond());
+                out.writeInt(event.timestamp.getNano());
+                out.writeUTF(event.payloadType);
+                out.writeBoolean(event.payloadRevision != null);
+                if (event.payloadRevision != null) {
+                    out.writeUTF(event.payloadRevision);
+                }
+                writeBytes(out, event.payload);
+                writeBytes(out, event.metaData);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode archived event stream", e);
+        }
+        return PayloadCompressionCodec.GZIP.compress(buffer.toByteArray());
+    }
+
+    private static List<StoredEvent> decode(byte[] archived) {
+        byte[] plain = PayloadCompressionCodec.GZIP.decompress(archived, 0, archived.length);
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(plain))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalStateException("Unsupported archive format version: " + version);
+            }
+            int count = in.readInt();
+            List<StoredEvent> events = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                long sequenceNumber = in.readLong();
+                String eventIdentifier = in.readUTF();
+                Instant timestamp = Instant.ofEpochSecond(in.readLong(), in.readInt());
+                String payloadType = in.readUTF();
+                String payloadRevision = in.readBoolean() ? in.readUTF() : null;
+                byte[] payload = readBytes(in);
+                byte[] metaData = readBytes(in);
+                events.add(new StoredEvent(sequenceNumber, eventIdentifier, timestamp, payloadType, payloadRevision, payload, metaData));
+            }
+            return events;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode archived event stream", e);
+        }
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] data) throws IOException {
+        out.writeInt(data.length);
+        out.write(data);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        byte[] data = new byte[in.readInt()];
+        in.readFully(data);
+        return data;
+    }
+
+    private record ArchiveRow(String aggregateType, byte[] events) {
+    }
+
+    private record StoredEvent(long sequenceNumber, String eventIdentifier, Instant timestamp, String payloadType,
+                               String payloadRevision, byte[] payload, byte[] metaData) {
+    }
+}
@@ -0,0 +1,106 @@
+package template.cqrs.infrastructure.eventstore;
+
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventhandling.TrackedEventMessage;
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * {@link EventStorageEngine} decorator that completes aggregate streams with the events moved to the
+ * {@link AlertEventArchive}. When the stored events of an aggregate start after the requested sequence number, the
+ * missing events are read from the archive and put in front of them, so a load of the full stream still returns the
+ * complete history. Loads from a snapshot start after the archived events and never touch the archive.
+ * <p>
+ * Tracking streams, appends and snapshots go to the delegate unchanged. The archive is looked up lazily and is
+ * absent when archival is disabled.
+ */
+public class ArchiveAwareEventStorageEngine implements EventStorageEngine {
+
+    private final EventStorageEngine delegate;
+    private final ObjectProvider<AlertEventArchive> archive;
+
+    public ArchiveAwareEventStorageEngine(EventStorageEngine delegate, ObjectProvider<AlertEventArchive> archive) {
+        this.delegate = delegate;
+        this.archive = archive;
+    }
+
+    @Override
+    public DomainEventStream readEvents(String aggregateIdentifier, long firstSequenceNumber) {
+        DomainEventStream stored = delegate.readEvents(aggregateIdentifier, firstSequenceNumber);
+        if (!stored.hasNext() || stored.peek().getSequenceNumber() <= firstSequenceNumber) {
+            return stored;
+        }
+        AlertEventArchive alertEventArchive = archive.getIfAvailable();
+        if (alertEventArchive == null) {
+            return stored;
+        }
+        long firstStored = stored.peek().getSequenceNumber();
+        List<DomainEventMessage<?>> archived = alertEventArchive.readArchivedEvents(aggregateIdentifier).stream()
+                .filter(event -> event.getSequenceNumber() >= firstSequenceNumber
+                        && event.getSequenceNumber() < firstStored)
+                .<DomainEventMessage<?>>map(ArchiveAwareEventStorageEngine::toMessage)
+                .toList();
+        return archived.isEmpty() ? stored : DomainEventStream.concat(DomainEventStream.of(archived), stored);
+    }
+
+    private static DomainEventMessage<?> toMessage(ArchivedEvent event) {
+        return new GenericDomainEventMessage<>(event.getAggregateType(), event.getAggregateIdentifier(),
+                event.getSequenceNumber(), event.getPayload(), event.getMetaData(), event.getEventIdentifier(),
+                event.getTimestamp());
+    }
+
+    @Override
+    public void appendEvents(List<? extends EventMessage<?>> events) {
+        delegate.appendEvents(events);
+    }
+
+    @Override
+    public void storeSnapshot(DomainEventMessage<?> snapshot) {
+        delegate.storeSnapshot(snapshot);
+    }
+
+    @Override
+    public Stream<? extends TrackedEventMessage<?>> readEvents(TrackingToken trackingToken, boolean mayBlock) {
+        return delegate.readEvents(trackingToken, mayBlock);
+    }
+
+    @Override
+    public Optional<DomainEventMessage<?>> readSnapshot(String aggregateIdentifier) {
+        return delegate.readSnapshot(aggregateIdentifier);
+    }
+
+    @Override
+    public Optional<Long> lastSequenceNumberFor(String aggregateIdentifier) {
+        return delegate.lastSequenceNumberFor(aggregateIdentifier);
+    }
+
+    @Override
+    public TrackingToken createTailToken() {
+        return delegate.createTailToken();
+    }
+
+    @Override
+    public TrackingToken createHeadToken() {
+        return delegate.createHeadToken();
+    }
+
+    @Override
+    public TrackingToken createTokenAt(Instant dateTime) {
+        return delegate.createTokenAt(dateTime);
+    }
+
+    @Override
+    public TrackingToken createTokenSince(Duration duration) {
+        return delegate.createTokenSince(duration);
+    }
+}
@@ -0,0 +1,21 @@
+package template.cqrs.infrastructure.eventstore;
+
+import lombok.Value;
+import org.axonframework.messaging.MetaData;
+
+import java.time.Instant;
+
+/**
+ * A domain event read back from the cold event archive, for audits and full-stream loads.
+ */
+@Value
+public class ArchivedEvent {
+    String aggregateIdentifier;
+    String aggregateType;
+    long sequenceNumber;
+    String eventIdentifier;
+    Instant timestamp;
+    String payloadType;
+    Object payload;
+    MetaData metaData;
+}
@@ -0,0 +1,126 @@
+package template.cqrs.infrastructure.eventstore;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.axonframework.serialization.Converter;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.SerializedType;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.SimpleSerializedObject;
+
+import java.util.Arrays;
+
+/**
+ * {@link Serializer} decorator that compresses {@code byte[]} representations produced by its delegate once
+ * they reach a size threshold. Compressed data is prefixed with a small header (a magic sequence plus the codec
+ * id); anything without that header is handed to the delegate unchanged, so events and snapshots stored before
+ * compression was enabled keep deserializing.
+ * <p>
+ * Non-binary representations, type resolution and the converter are passed through to the delegate. Upcasters
+ * that work on the raw {@code byte[]} would see compressed data and are not supported in combination with it.
+ */
+public class CompressingSerializer implements Serializer {
+
+    // XML and JSON payloads never start with a NUL byte
+    private static final byte[] MAGIC = {0x00, 'Z', 'P'};
+    private static final int HEADER_LENGTH = MAGIC.length + 1;
+
+    private final Serializer delegate;
+    private final PayloadCompressionCodec codec;
+    private final int thresholdBytes;
+    private final Counter rawBytes;
+    private final Counter storedBytes;
+
+    public CompressingSerializer(Serializer delegate, PayloadCompressionCodec codec, int thresholdBytes,
+                                 MeterRegistry meterRegistry, String name) {
+        this.delegate = delegate;
+        this.codec = codec;
+        this.thresholdBytes = thresholdBytes;
+        this.rawBytes = Counter.builder("eventstore.payload.bytes")
+                .description("Serialized payload bytes before and after compression")
+                .tag("serializer", name)
+                .tag("stage", "raw")
+                .register(meterRegistry);
+        this.storedBytes = Counter.builder("eventstore.payload.bytes")
+                .description("Serialized payload bytes before and after compression")
+                .tag("serializer", name)
+                .tag("stage", "stored")
+                .register(meterRegistry);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> SerializedObject<T> serialize(Object object, Class<T> expectedRepresentation) {
+        SerializedObject<T> serialized = delegate.serialize(object, expectedRepresentation);
+        if (!byte[].class.equals(expectedRepresentation)) {
+            return serialized;
+        }
+        byte[] data = (byte[]) serialized.getData();
+        rawBytes.increment(data.length);
+        if (codec == PayloadCompressionCodec.NONE || data.length < thresholdBytes) {
+            storedBytes.increment(data.length);
+            return serialized;
+        }
+
+        byte[] compressed = codec.compress(data);
+        if (compressed.length + HEADER_LENGTH >= data.length) {
+            storedBytes.increment(data.length);
+            return serialized; // Not worth it, keep the plain representation
+        }
+        byte[] framed = new byte[HEADER_LENGTH + compressed.length];
+        System.arraycopy(MAGIC, 0, framed, 0, MAGIC.length);
+        framed[MAGIC.length] = codec.getId();
+        System.arraycopy(compressed, 0, framed, HEADER_LENGTH, compressed.length);
+        storedBytes.increment(framed.length);
+        return (SerializedObject<T>) new SimpleSerializedObject<>(framed, byte[].class, serialized.getType());
+    }
+
+    @Override
+    public <T> boolean canSerializeTo(Class<T> expectedRepresentation) {
+        return delegate.canSerializeTo(expectedRepresentation);
+    }
+
+    @Override
+    public <S, T> T deserialize(SerializedObject<S> serializedObject) {
+        return delegate.deserialize(decompress(serializedObject));
+    }
+
+    @Override
+    public Class classForType(SerializedType type) {
+        return delegate.classForType(type);
+    }
+
+    @Override
+    public SerializedType typeForClass(Class type) {
+        return delegate.typeForClass(type);
+    }
+
+    @Override
+    public Converter getConverter() {
+        return delegate.getConverter();
+    }
+
+    /**
+     * Returns the plain representation of a stored payload: compressed data is expanded, anything else is
+     * returned as given. Useful for code reading stored payloads without going through this serializer.
+     */
+    @SuppressWarnings("unchecked")
+    public static <S> SerializedObject<S> decompress(SerializedObject<S> serializedObject) {
+        if (!byte[].class.equals(serializedObject.getContentType())) {
+            return serializedObject;
+        }
+        byte[] data = (byte[]) serializedObject.getData();
+        if (!isCompressed(data)) {
+            return serializedObject;
+        }
+        PayloadCompressionCodec storedCodec = PayloadCompressionCodec.fromId(data[MAGIC.length]);
+        byte[] plain = storedCodec.decompress(data, HEADER_LENGTH, data.length - HEADER_LENGTH);
+        return (SerializedObject<S>) new SimpleSerializedObject<>(plain, byte[].class, serializedObject.getType());
+    }
+
+    private static boolean isCompressed(byte[] data) {
+        return data != null
+                && data.length > HEADER_LENGTH
+                && Arrays.equals(data, 0, MAGIC.length, MAGIC, 0, MAGIC.length);
+    }
+}
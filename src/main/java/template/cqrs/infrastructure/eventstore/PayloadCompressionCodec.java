@@ -0,0 +1,95 @@
+package template.cqrs.infrastructure.eventstore;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Codecs available for event and snapshot payload compression. The {@link #getId() id} is written into the
+ * header of every compressed payload, so stored data stays readable after the configured codec changes.
+ */
+public enum PayloadCompressionCodec {
+
+    NONE((byte) 0) {
+        @Override
+        OutputStream wrap(OutputStream out) {
+            return out;
+        }
+
+        @Override
+        InputStream wrap(InputStream in) {
+            return in;
+        }
+    },
+    DEFLATE((byte) 1) {
+        @Override
+        OutputStream wrap(OutputStream out) {
+            return new DeflaterOutputStream(out, new Deflater(Deflater.BEST_SPEED));
+        }
+
+        @Override
+        InputStream wrap(InputStream in) {
+            return new InflaterInputStream(in);
+        }
+    },
+    GZIP((byte) 2) {
+        @Override
+        OutputStream wrap(OutputStream out) throws IOException {
+            return new GZIPOutputStream(out);
+        }
+
+        @Override
+        InputStream wrap(InputStream in) throws IOException {
+            return new GZIPInputStream(in);
+        }
+    };
+
+    private final byte id;
+
+    PayloadCompressionCodec(byte id) {
+        this.id = id;
+    }
+
+    public byte getId() {
+        return id;
+    }
+
+    public static PayloadCompressionCodec fromId(byte id) {
+        for (PayloadCompressionCodec codec : values()) {
+            if (codec.id == id) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unknown payload compression codec id: " + id);
+    }
+
+    public byte[] compress(byte[] data) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(32, data.length / 2));
+        try (OutputStream out = wrap(buffer)) {
+            out.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compress payload with " + this, e);
+        }
+        return buffer.toByteArray();
+    }
+
+    public byte[] decompress(byte[] data, int offset, int length) {
+        try (InputStream in = wrap(new ByteArrayInputStream(data, offset, length))) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decompress payload with " + this, e);
+        }
+    }
+
+    abstract OutputStream wrap(OutputStream out) throws IOException;
+
+    abstract InputStream wrap(InputStream in) throws IOException;
+}
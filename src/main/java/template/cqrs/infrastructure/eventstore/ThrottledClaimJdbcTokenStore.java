@@ -0,0 +1,76 @@
+package template.cqrs.infrastructure.eventstore;
+
+import org.axonframework.eventhandling.TrackingToken;
+import org.axonframework.eventhandling.tokenstore.jdbc.JdbcTokenStore;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link JdbcTokenStore} that coalesces claim extensions. Event processors call {@link #extendClaim} for every
+ * segment whenever they wait for events, which turns into one {@code UPDATE} per segment per poll. Here an
+ * extension is only written when this node has not fetched, stored or extended the claim for that segment within
+ * the last {@code claimExtensionThreshold}; all other extensions are answered from memory.
+ * <p>
+ * A skipped extension also skips {@link JdbcTokenStore}'s ownership check, so a node only notices a lost claim on
+ * its next real write. The threshold is therefore required to be strictly below half the claim timeout (checked
+ * at construction): the last write on record is then always recent enough that no other node can have taken the
+ * claim over by timeout, and an extension that does reach the database fails as before when the claim is gone.
+ */
+public class ThrottledClaimJdbcTokenStore extends JdbcTokenStore {
+
+    private final long claimExtensionThresholdMs;
+    private final Map<String, Long> lastClaimWriteMs = new ConcurrentHashMap<>();
+
+    public ThrottledClaimJdbcTokenStore(Builder builder, Duration claimTimeout, Duration claimExtensionThreshold) {
+        super(builder.claimTimeout(claimTimeout));
+        if (claimExtensionThreshold.isNegative() || claimExtensionThreshold.multipliedBy(2).compareTo(claimTimeout) >= 0) {
+            throw new IllegalArgumentException("Claim extension threshold " + claimExtensionThreshold
+                    + " must be less than half of the claim timeout " + claimTimeout);
+        }
+        this.claimExtensionThresholdMs = claimExtensionThreshold.toMillis();
+    }
+
+    @Override
+    public TrackingToken fetchToken(String processorName, int segment) {
+        TrackingToken token = super.fetchToken(processorName, segment);
+        recordClaimWrite(processorName, segment);
+        return token;
+    }
+
+    @Override
+    public void storeToken(TrackingToken token, String processorName, int segment) {
+        super.storeToken(token, processorName, segment);
+        recordClaimWrite(processorName, segment);
+    }
+
+    @Override
+    public void extendClaim(String processorName, int segment) {
+        Long lastWrite = lastClaimWriteMs.get(key(processorName, segment));
+        if (lastWrite != null && System.currentTimeMillis() - lastWrite < claimExtensionThresholdMs) {
+            return; // Claim was refreshed recently enough; skip the round trip
+        }
+        try {
+            super.extendClaim(processorName, segment);
+        } catch (RuntimeException e) {
+            lastClaimWriteMs.remove(key(processorName, segment)); // Claim lost; never answer from memory again
+            throw e;
+        }
+        recordClaimWrite(processorName, segment);
+    }
+
+    @Override
+    public void releaseClaim(String processorName, int segment) {
+        lastClaimWriteMs.remove(key(processorName, segment));
+        super.releaseClaim(processorName, segment);
+    }
+
+    private void recordClaimWrite(String processorName, int segment) {
+        lastClaimWriteMs.put(key(processorName, segment), System.currentTimeMillis());
+    }
+
+    private static String key(String processorName, int segment) {
+        return processorName + '#' + segment;
+    }
+}
@@ -0,0 +1,191 @@
+package template.cqrs.infrastructure.kafka.producer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.kafka.KafkaClientMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.CommonClientConfigs;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.common.metrics.KafkaMetric;
+import org.apache.kafka.common.metrics.MetricsReporter;
+import org.axonframework.extensions.kafka.eventhandling.producer.ConfirmationMode;
+import org.axonframework.extensions.kafka.eventhandling.producer.ProducerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * {@link ProducerFactory} decorator that binds the native Kafka producer metrics (send rate, request latency,
+ * batch size, compression ratio, record queue time, errors) of every producer handed to the Axon
+ * {@code KafkaPublisher} to Micrometer, so publish latency and throughput show up under {@code /actuator/metrics}.
+ * <p>
+ * The delegate pools and reuses producers, so each distinct producer is bound only once. Closing a producer handed
+ * out by the pool usually just returns it, so the decorator cannot tell from {@code close()} whether the Kafka
+ * producer is gone. Instead, the delegate's producers are configured with a {@link CloseReporter}. Kafka closes
+ * that metrics reporter only when it really closes a producer, for example one discarded by a full transactional
+ * pool. The producer's metrics are then unbound and its entry is dropped.
+ */
+@Slf4j
+public class MeteredProducerFactory<K, V> implements ProducerFactory<K, V> {
+
+    /** Producer configuration key under which {@link CloseReporter} finds the factory to notify. */
+    static final String FACTORY_CONFIG = "template.cqrs.metered-producer-factory";
+
+    private final ProducerFactory<K, V> delegate;
+    private final MeterRegistry meterRegistry;
+    private final Tags tags;
+    private final Map<Producer<K, V>, KafkaClientMetrics> boundProducers = new IdentityHashMap<>();
+    private final Map<String, Producer<K, V>> producersByClientId = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock(); // Not a monitor: called on every publish, also from virtual threads
+
+    /**
+     * @param delegateFactory builds the delegate from the producer configuration, extended with the close reporter
+     */
+    public MeteredProducerFactory(Function<Map<String, Object>, ProducerFactory<K, V>> delegateFactory,
+                                  Map<String, Object> configuration, MeterRegistry meterRegistry, Tags tags) {
+        this.meterRegistry = meterRegistry;
+        this.tags = tags;
+        Map<String, Object> metered = new HashMap<>(configuration);
+        metered.put(CommonClientConfigs.METRIC_REPORTER_CLASSES_CONFIG,
+                withCloseReporter(configuration.get(CommonClientConfigs.METRIC_REPORTER_CLASSES_CONFIG)));
+        metered.put(FACTORY_CONFIG, this);
+        this.delegate = delegateFactory.apply(metered);
+    }
+
+    @Override
+    public Producer<K, V> createProducer() {
+        Producer<K, V> producer = delegate.createProducer();
+        lock.lock();
+        try {
+            boundProducers.computeIfAbsent(producer, p -> {
+                KafkaClientMetrics metrics = new KafkaClientMetrics(p, tags);
+                metrics.bindTo(meterRegistry);
+                String clientId = clientId(p);
+                if (clientId != null) {
+                    producersByClientId.put(clientId, p);
+                }
+                log.debug("Bound Kafka producer metrics for Axon publisher producer {} ({} bound).",
+                        clientId, boundProducers.size() + 1);
+                return metrics;
+            });
+        } finally {
+            lock.unlock();
+        }
+        return producer;
+    }
+
+    @Override
+    public ConfirmationMode confirmationMode() {
+        return delegate.confirmationMode();
+    }
+
+    @Override
+    public void shutDown() {
+        lock.lock();
+        try {
+            boundProducers.values().forEach(KafkaClientMetrics::close);
+            boundProducers.clear();
+            producersByClientId.clear();
+        } finally {
+            lock.unlock();
+        }
+        delegate.shutDown();
+    }
+
+    /**
+     * Unbinds the metrics of the producer with the given client id, called when Kafka closes that producer.
+     */
+    void producerClosed(String clientId) {
+        KafkaClientMetrics metrics;
+        lock.lock();
+        try {
+            Producer<K, V> producer = producersByClientId.remove(clientId);
+            metrics = producer != null ? boundProducers.remove(producer) : null;
+        } finally {
+            lock.unlock();
+        }
+        if (metrics != null) {
+            metrics.close();
+            log.debug("Unbound Kafka producer metrics of closed producer {}.", clientId);
+        }
+    }
+
+    int boundProducerCount() {
+        lock.lock();
+        try {
+            return boundProducers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String clientId(Producer<?, ?> producer) {
+        return producer.metrics().keySet().stream()
+                .map(name -> name.tags().get("client-id"))
+                .filter(id -> id != null)
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static List<Object> withCloseReporter(Object configured) {
+        List<Object> reporters = new ArrayList<>();
+        if (configured instanceof String names) {
+            for (String name : names.split(",")) {
+                if (!name.isBlank()) {
+                    reporters.add(name.trim());
+                }
+            }
+        } else if (configured instanceof Collection<?> values) {
+            reporters.addAll(values);
+        } else if (configured != null) {
+            reporters.add(configured);
+        }
+        reporters.add(CloseReporter.class);
+        return reporters;
+    }
+
+    /**
+     * Metrics reporter that reports nothing; Kafka closes it when it closes its producer, which is the one reliable
+     * signal that a pooled producer is gone.
+     */
+    public static class CloseReporter implements MetricsReporter {
+
+        private MeteredProducerFactory<?, ?> factory;
+        private String clientId;
+
+        @Override
+        public void configure(Map<String, ?> configs) {
+            if (configs.get(FACTORY_CONFIG) instanceof MeteredProducerFactory<?, ?> configured) {
+                factory = configured;
+            }
+            if (configs.get(CommonClientConfigs.CLIENT_ID_CONFIG) instanceof String id) {
+                clientId = id;
+            }
+        }
+
+        @Override
+        public void init(List<KafkaMetric> metrics) {
+        }
+
+        @Override
+        public void metricChange(KafkaMetric metric) {
+        }
+
+        @Override
+        public void metricRemoval(KafkaMetric metric) {
+        }
+
+        @Override
+        public void close() {
+            if (factory != null && clientId != null) {
+                factory.producerClosed(clientId);
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package template.cqrs.read_model.elasticsearch.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded, in-process read-through cache of {@link AlertDto}s by alertId for the alert detail query.
+ * <p>
+ * Entries are weighed by their JSON size and the cache is capped at {@code app.query.cache.by-id.max-bytes}.
+ * {@code AlertReadModelProjection} invalidates an alert after every write to its document, but only on the instance
+ * whose processor handled the event; invalidations are not broadcast. On every other instance an entry can be up
+ * to {@code app.query.cache.by-id.ttl-ms} staler than Elasticsearch, which is why that TTL is kept short. On the
+ * instance running the projection, a load that read the old document while an invalidation was in flight must not
+ * survive it, so every invalidation bumps a generation counter and a load only stays cached if no invalidation
+ * started while it ran (checked after the put, so either the loader or the invalidation removes it). Misses are
+ * not cached.
+ * <p>
+ * Hit rate, evictions and size are exported as Micrometer {@code cache.*} metrics tagged {@code cache=alert-by-id}.
+ */
+@Component
+@Slf4j
+public class AlertByIdCache {
+
+    private final Cache<String, AlertDto> cache;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public AlertByIdCache(ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.query.cache.by-id.max-bytes:67108864}") long maxBytes,
+                          @Value("${app.query.cache.by-id.ttl-ms:5000}") long ttlMs) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxBytes)
+                .weigher((String alertId, AlertDto dto) -> weigh(dto))
+                .expireAfterWrite(Duration.ofMillis(ttlMs)) // Bounds staleness on instances that miss the invalidation
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "alert-by-id");
+        log.info("Alert by-id cache initialized with maxBytes={}, ttlMs={}", maxBytes, ttlMs);
+    }
+
+    public CompletableFuture<Optional<AlertDto>> get(String alertId,
+                                                     Function<String, CompletableFuture<Optional<AlertDto>>> loader) {
+        AlertDto cached = cache.getIfPresent(alertId);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(Optional.of(cached));
+        }
+        long generation = invalidations.get();
+        return loader.apply(alertId).thenApply(loaded -> {
+            loaded.ifPresent(dto -> {
+                cache.put(alertId, dto);
+                if (invalidations.get() != generation) {
+                    cache.asMap().remove(alertId, dto); // May predate a concurrent projection write
+                }
+            });
+            return loaded;
+        });
+    }
+
+    /**
+     * The cached alert, if any, without loading it on a miss and without counting towards the hit rate.
+     */
+    public Optional<AlertDto> peek(String alertId) {
+        return Optional.ofNullable(cache.asMap().get(alertId)); // The map view records no stats
+    }
+
+    /**
+     * Batch variant of {@link #get}: cached alerts are served from memory and the loader is called once for the
+     * others. Alerts the loader does not return are absent from the result.
+     */
+    public CompletableFuture<Map<String, AlertDto>> getAll(Collection<String> alertIds,
+                                                           Function<List<String>, CompletableFuture<Map<String, AlertDto>>> loader) {
+        Map<String, AlertDto> found = new HashMap<>(cache.getAllPresent(alertIds));
+        List<String> missing = alertIds.stream().filter(id -> !found.containsKey(id)).distinct().toList();
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(found);
+        }
+        long generation = invalidations.get();
+        return loader.apply(missing).thenApply(loaded -> {
+            loaded.forEach((alertId, dto) -> {
+                cache.put(alertId, dto);
+                if (invalidations.get() != generation) {
+                    cache.asMap().remove(alertId, dto);
+                }
+            });
+            found.putAll(loaded);
+            return found;
+        });
+    }
+
+    public void invalidate(String alertId) {
+        invalidations.incrementAndGet();
+        cache.invalidate(alertId);
+    }
+
+    public void invalidateAll(Collection<String> alertIds) {
+        invalidations.incrementAndGet();
+        cache.invalidateAll(alertIds);
+    }
+
+    public void invalidateAll() {
+        invalidations.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private int weigh(AlertDto dto) {
+        try {
+            return objectMapper.writeValueAsBytes(dto).length;
+        } catch (JsonProcessingException e) {
+            return 4096; // Rough size of a typical alert
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package template.cqrs.read_model.elasticsearch.document;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import template.cqrs.domain.model.alert.value_objects.AlertDetails;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Index layout of {@link AlertDetails}.
+ * <p>
+ * {@code details} is a {@code flattened} field: all its leaf values are indexed as keywords under one field, so
+ * new keys sent by upstream systems never add mappings. The configured hot keys are additionally copied into
+ * {@code hotDetails.<key>} keyword fields with their own mapping and doc values; filters on hot keys use those.
+ */
+@Component
+public class AlertDetailFields {
+
+    /** Path of the detail values inside the flattened field ({@code AlertDetails} serializes as {@code properties}). */
+    private static final String FLATTENED_PREFIX = "details.properties.";
+    private static final String HOT_PREFIX = "hotDetails.";
+
+    private final Set<String> hotKeys;
+
+    public AlertDetailFields(@Value("${app.read-model.details.hot-keys:}") List<String> hotKeys) {
+        this.hotKeys = new LinkedHashSet<>(hotKeys.stream().map(String::trim).filter(k -> !k.isEmpty()).toList());
+    }
+
+    public Set<String> hotKeys() {
+        return hotKeys;
+    }
+
+    /**
+     * The field to filter a detail key on.
+     */
+    public String filterField(String key) {
+        return hotKeys.contains(key) ? HOT_PREFIX + key : FLATTENED_PREFIX + key;
+    }
+
+    /**
+     * The hot key values of the details, as stored in {@code hotDetails}. Absent keys map to {@code null}, so a
+     * partial update (which merges objects) clears values that are no longer in the details.
+     */
+    public Map<String, String> hotValues(AlertDetails details) {
+        Map<String, String> values = new LinkedHashMap<>();
+        for (String key : hotKeys) {
+            values.put(key, value(details, key).orElse(null));
+        }
+        return values;
+    }
+
+    /**
+     * The scalar value at a dotted key path, as the string Elasticsearch indexes it.
+     */
+    public static Optional<String> value(AlertDetails details, String key) {
+        if (details == null || details.getProperties() == null) {
+            return Optional.empty();
+        }
+        Object current = details.getProperties();
+        for (String part : key.split("\\.")) {
+            if (!(current instanceof Map<?, ?> map)) {
+                return Optional.empty();
+            }
+            current = map.get(part);
+        }
+        if (current == null || current instanceof Map<?, ?> || current instanceof Iterable<?>) {
+            return Optional.empty();
+        }
+        return Optional.of(String.valueOf(current));
+    }
+}
@@ -13,10 +13,11 @@ import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
 import template.cqrs.domain.model.alert.value_objects.AlertStatus;
 
 import java.time.Instant;
-import java.util.List;
+import java.util.Map;
 
-@Document(indexName = "alerts") // Defines the Elasticsearch index name
-@Setting(shards = 1, replicas = 0) // Example settings, adjust for production
+// Stored in time-partitioned alerts-<period> indices behind the alerts-read alias. The indices, their shard and
+// replica counts and this mapping are managed through the index template (see AlertIndexManager).
+@Document(indexName = "alerts-read", createIndex = false)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -29,20 +30,26 @@ public class AlertDocument {
     @Field(type = FieldType.Keyword) // Good for exact matches and aggregations
     private AlertSeverity severity;
 
-    @Field(type = FieldType.Text, analyzer = "standard") // For full-text search
+    // Full-text search, plus a search_as_you_type subfield (description.prefix) for typeahead
+    @MultiField(mainField = @Field(type = FieldType.Text, analyzer = "standard"),
+            otherFields = @InnerField(suffix = "prefix", type = FieldType.Search_As_You_Type, analyzer = "standard"))
     private String description;
 
-    @Field(type = FieldType.Keyword)
+    @Field(type = FieldType.Keyword) // The template adds a source.suggest completion subfield
     private String source;
 
     @Field(type = FieldType.Keyword)
     private AlertStatus status;
 
-    // For complex objects like AlertDetails, Elasticsearch can store them as nested objects.
-    // If you need to query specific fields within details, map them explicitly or use 'flattened' type.
-    @Field(type = FieldType.Object) // Stores as a nested JSON object
+    // Flattened: every detail key is searchable as a keyword without adding a mapping per key
+    @Field(type = FieldType.Flattened)
     private AlertDetails details;
 
+    // Hot detail keys copied out of details (see AlertDetailFields); the template maps each as a keyword
+    @Field(type = FieldType.Object)
+    @DynamicMapping(DynamicMappingValue.False)
+    private Map<String, String> hotDetails;
+
     @Field(type = FieldType.Date, format = DateFormat.date_optional_time) // ISO8601 format
     private Instant createdAt;
 
@@ -85,7 +92,7 @@ public class AlertDocument {
     @Field(type = FieldType.Text)
     private String closingReason;
 
-    @Field(type = FieldType.Keyword)
+    @Field(type = FieldType.Keyword) // The template adds an assignee.suggest completion subfield
     private String assignee;
 
     @Field(type = FieldType.Date, format = DateFormat.date_optional_time)
@@ -94,10 +101,16 @@ public class AlertDocument {
     @Field(type = FieldType.Keyword)
     private String assignedBy;
 
-    // For lists of objects, use FieldType.Nested if you need to query individual elements
-    // of the list independently. Otherwise, FieldType.Object might suffice.
-    @Field(type = FieldType.Nested) // If querying notes fields is needed
-    private List<AlertNoteDto> notes;
+    // Notes live in the alert-notes index (AlertNoteDocument); the alert keeps their count and the latest one,
+    // so a note append is a constant-size update
+    @Field(type = FieldType.Integer)
+    private Integer noteCount;
+
+    @Field(type = FieldType.Object)
+    private AlertNoteDto latestNote;
+
+    @Field(type = FieldType.Long)
+    private Long latestNoteEpochMillis; // Lets the note count update skip redelivered or older notes
 
     // Fields for logical deletion
     @Field(type = FieldType.Keyword)
@@ -0,0 +1,68 @@
+package template.cqrs.read_model.elasticsearch.document;
+
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PartialAlertDto;
+
+import java.util.UUID;
+
+/**
+ * Converts {@link AlertDocument}s into the {@link AlertDto}s returned by queries and change streams.
+ */
+public final class AlertDocumentMapper {
+
+    private AlertDocumentMapper() {
+    }
+
+    /**
+     * @param full false for documents fetched with a field selection; unselected fields then stay null and the
+     *             result is a {@link PartialAlertDto}, which leaves them out of the JSON response
+     */
+    public static AlertDto toDto(AlertDocument doc, boolean full) {
+        if (doc == null) {
+            return null;
+        }
+        AlertDto dto = full ? new AlertDto() : new PartialAlertDto();
+        dto.setAlertId(UUID.fromString(doc.getAlertId()));
+        dto.setSeverity(doc.getSeverity());
+        dto.setDescription(doc.getDescription());
+        dto.setSource(doc.getSource());
+        dto.setStatus(doc.getStatus());
+        dto.setDetails(doc.getDetails());
+        dto.setCreatedAt(doc.getCreatedAt());
+        dto.setUpdatedAt(doc.getUpdatedAt());
+        dto.setEventTimestamp(doc.getEventTimestamp());
+        dto.setInitiatedBy(doc.getInitiatedBy());
+        dto.setUpdatedBy(doc.getUpdatedBy());
+        dto.setAcknowledgedAt(doc.getAcknowledgedAt());
+        dto.setAcknowledgedBy(doc.getAcknowledgedBy());
+        dto.setAcknowledgementNotes(doc.getAcknowledgementNotes());
+        dto.setResolvedAt(doc.getResolvedAt());
+        dto.setResolvedBy(doc.getResolvedBy());
+        dto.setResolutionDetails(doc.getResolutionDetails());
+        dto.setClosedAt(doc.getClosedAt());
+        dto.setClosedBy(doc.getClosedBy());
+        dto.setClosingReason(doc.getClosingReason());
+        dto.setAssignee(doc.getAssignee());
+        dto.setAssignedAt(doc.getAssignedAt());
+        dto.setAssignedBy(doc.getAssignedBy());
+        dto.setNoteCount(doc.getNoteCount() != null || !full ? doc.getNoteCount() : Integer.valueOf(0));
+        dto.setLatestNote(doc.getLatestNote());
+        return dto;
+    }
+
+    /**
+     * The table-view fields of an alert (see {@code AlertFieldSets.SUMMARY}).
+     */
+    public static AlertDto toSummaryDto(AlertDocument doc) {
+        AlertDto dto = new PartialAlertDto();
+        dto.setAlertId(UUID.fromString(doc.getAlertId()));
+        dto.setSeverity(doc.getSeverity());
+        dto.setStatus(doc.getStatus());
+        dto.setDescription(doc.getDescription());
+        dto.setSource(doc.getSource());
+        dto.setAssignee(doc.getAssignee());
+        dto.setCreatedAt(doc.getCreatedAt());
+        dto.setUpdatedAt(doc.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,53 @@
+package template.cqrs.read_model.elasticsearch.document;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import template.cqrs.domain.model.alert.value_objects.AlertNoteDto;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * One alert note, stored apart from its alert so adding a note never rewrites the alert document.
+ * The alert only keeps {@code noteCount} and {@code latestNote}. The index is created by {@code AlertIndexManager}
+ * with the same shard and replica counts as the alert indices.
+ */
+@Document(indexName = AlertNoteDocument.INDEX_NAME, createIndex = false)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AlertNoteDocument {
+
+    public static final String INDEX_NAME = "alert-notes";
+
+    @Id
+    private String noteId; // The note's UUID, so re-projecting a note overwrites it
+
+    @Field(type = FieldType.Keyword)
+    private String alertId;
+
+    @Field(type = FieldType.Text, analyzer = "standard")
+    private String text;
+
+    @Field(type = FieldType.Keyword)
+    private String author;
+
+    @Field(type = FieldType.Date, format = DateFormat.date_optional_time)
+    private Instant timestamp;
+
+    public static AlertNoteDocument of(String alertId, AlertNoteDto note) {
+        return new AlertNoteDocument(note.getNoteId().toString(), alertId, note.getText(), note.getAuthor(), note.getTimestamp());
+    }
+
+    public AlertNoteDto toDto() {
+        return new AlertNoteDto(UUID.fromString(noteId), text, author, timestamp);
+    }
+}
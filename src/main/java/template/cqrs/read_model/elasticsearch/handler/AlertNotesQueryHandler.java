@@ -0,0 +1,60 @@
+package template.cqrs.read_model.elasticsearch.handler;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.FindAlertNotesQuery;
+import template.cqrs.domain.model.alert.dto.PagedAlertNotesResponse;
+import template.cqrs.domain.model.alert.value_objects.AlertNoteDto;
+import template.cqrs.read_model.elasticsearch.document.AlertNoteDocument;
+import template.cqrs.read_model.elasticsearch.search.AlertDocumentReader;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Pages the notes of one alert from the {@code alert-notes} index, newest first.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertNotesQueryHandler {
+
+    private final ElasticsearchAsyncClient asyncClient;
+    private final AlertDocumentReader documentReader;
+
+    @QueryHandler
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public CompletableFuture<PagedAlertNotesResponse> handle(FindAlertNotesQuery query) {
+        log.debug("Handling FindAlertNotesQuery: alertId={}, page={}, size={}",
+                query.getAlertId(), query.getPageNumber(), query.getPageSize());
+        int pageSize = query.getPageSize();
+        return asyncClient.search(s -> s
+                        .index(AlertNoteDocument.INDEX_NAME)
+                        .ignoreUnavailable(true)
+                        .query(q -> q.term(t -> t.field("alertId").value(query.getAlertId().toString())))
+                        .sort(o -> o.field(f -> f.field("timestamp").order(SortOrder.Desc)))
+                        .from(query.getPageNumber() * pageSize)
+                        .size(pageSize)
+                        .trackTotalHits(t -> t.enabled(true)), Map.class)
+                .thenApply(response -> {
+                    List<AlertNoteDto> notes = response.hits().hits().stream()
+                            .map(hit -> documentReader.read(AlertNoteDocument.class, hit.id(), (Map<String, Object>) hit.source()).toDto())
+                            .toList();
+                    long total = response.hits().total() != null ? response.hits().total().value() : notes.size();
+                    int totalPages = (int) Math.ceil((double) total / pageSize);
+                    return PagedAlertNotesResponse.builder()
+                            .notes(notes)
+                            .pageNumber(query.getPageNumber())
+                            .pageSize(pageSize)
+                            .totalElements(total)
+                            .totalPages(totalPages)
+                            .last(query.getPageNumber() + 1 >= totalPages)
+                            .build();
+                });
+    }
+}
@@ -1,122 +1,240 @@
 package template.cqrs.read_model.elasticsearch.handler;
 
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.axonframework.queryhandling.QueryHandler;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 import template.cqrs.application.query.alert.*;
+import template.cqrs.domain.model.alert.dto.AlertBatchResponse;
 import template.cqrs.domain.model.alert.dto.AlertDto;
 import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+import template.cqrs.read_model.elasticsearch.cache.AlertByIdCache;
+import template.cqrs.read_model.elasticsearch.document.AlertDetailFields;
 import template.cqrs.read_model.elasticsearch.document.AlertDocument;
-import template.cqrs.read_model.elasticsearch.repository.AlertDocumentRepository;
+import template.cqrs.read_model.elasticsearch.document.AlertDocumentMapper;
+import template.cqrs.read_model.elasticsearch.index.AlertIndexLocator;
+import template.cqrs.read_model.elasticsearch.index.AlertIndices;
+import template.cqrs.read_model.elasticsearch.search.AlertDocumentReader;
+import template.cqrs.read_model.elasticsearch.search.AlertSearchExecutor;
+import template.cqrs.read_model.elasticsearch.search.AlertSearchPage;
+import template.cqrs.read_model.elasticsearch.search.AlertSearchQueries;
+import template.cqrs.read_model.memory.OpenAlertIndex;
 
-import java.util.Collections;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
+/**
+ * Alert query handlers on the asynchronous Elasticsearch client: every handler returns a future that completes on
+ * the client's I/O threads, so Axon's query threads are never blocked on Elasticsearch.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class AlertQueryHandler {
 
-    private final AlertDocumentRepository repository;
+    private final ElasticsearchAsyncClient asyncClient;
+    private final AlertIndices alertIndices;
+    private final AlertIndexLocator alertIndexLocator;
+    private final AlertDetailFields alertDetailFields;
+    private final AlertDocumentReader documentReader;
+    private final AlertSearchExecutor searchExecutor;
+    private final AlertByIdCache alertByIdCache;
+    private final ObjectProvider<OpenAlertIndex> openAlertIndex;
 
     @QueryHandler
-    public Optional<AlertDto> handle(FindAlertByIdQuery query) {
+    public CompletableFuture<Optional<AlertDto>> handle(FindAlertByIdQuery query) {
         log.debug("Handling FindAlertByIdQuery for id: {}", query.getAlertId());
-        return repository.findById(query.getAlertId().toString())
-                .map(this::convertToDto);
+        return alertByIdCache.get(query.getAlertId().toString(), this::findById);
     }
 
+    /**
+     * The alert's {@code updatedAt} from the by-id cache or, on a miss, from a real-time get of that field alone.
+     * Does not populate the cache: a conditional GET that turns out modified loads the full alert anyway.
+     */
     @QueryHandler
-    public PagedAlertResponse handle(FindAllAlertsQuery query) {
-        log.debug("Handling FindAllAlertsQuery: page={}, size={}", query.getPageNumber(), query.getPageSize());
-        Pageable pageable = PageRequest.of(query.getPageNumber(), query.getPageSize(), Sort.by("createdAt").descending());
-        Page<AlertDocument> page = repository.findAll(pageable);
-        return convertToPagedResponse(page);
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    public CompletableFuture<Optional<Instant>> handle(FindAlertUpdatedAtQuery query) {
+        String alertId = query.getAlertId().toString();
+        Optional<AlertDto> cached = alertByIdCache.peek(alertId);
+        if (cached.isPresent()) {
+            return CompletableFuture.completedFuture(cached.map(AlertDto::getUpdatedAt));
+        }
+        return alertIndexLocator.locateAsync(alertId).thenCompose(indexName -> indexName.isEmpty()
+                ? CompletableFuture.completedFuture(Optional.<Instant>empty())
+                : asyncClient.get(g -> g.index(indexName.get()).id(alertId).sourceIncludes("updatedAt"), Map.class)
+                        .thenApply(response -> response.found() && response.source() != null
+                                ? Optional.ofNullable(documentReader.read(response.id(), response.source()).getUpdatedAt())
+                                : Optional.<Instant>empty()));
+    }
+
+    @QueryHandler
+    public CompletableFuture<PagedAlertResponse> handle(FindAllAlertsQuery query) {
+        log.debug("Handling FindAllAlertsQuery: page={}, size={}, cursor={}",
+                query.getPageNumber(), query.getPageSize(), query.getCursor() != null);
+        return search(null, AlertSearchQueries.DEFAULT_SORT,
+                query.getPageNumber(), query.getPageSize(), query.getCursor(), query.isTrackTotalHits(), query.getFields());
     }
 
     @QueryHandler
-    public PagedAlertResponse handle(FindAlertsByKeywordQuery query) {
-        log.debug("Handling FindAlertsByKeywordQuery: keyword={}, page={}, size={}",
-                query.getKeyword(), query.getPageNumber(), query.getPageSize());
-        Pageable pageable = PageRequest.of(query.getPageNumber(), query.getPageSize(), Sort.by("createdAt").descending());
-        // Using the custom query for broader search
-        Page<AlertDocument> page = repository.findByKeywordInDescriptionOrSource(query.getKeyword(), pageable);
-        return convertToPagedResponse(page);
+    public CompletableFuture<PagedAlertResponse> handle(FindAlertsByKeywordQuery query) {
+        log.debug("Handling FindAlertsByKeywordQuery: keyword={}, page={}, size={}, cursor={}",
+                query.getKeyword(), query.getPageNumber(), query.getPageSize(), query.getCursor() != null);
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder().keyword(query.getKeyword()).build();
+        return search(criteria, AlertSearchQueries.DEFAULT_SORT,
+                query.getPageNumber(), query.getPageSize(), query.getCursor(), query.isTrackTotalHits(), query.getFields());
     }
 
     @QueryHandler
-    public PagedAlertResponse handle(FindAlertsByTimestampRangeQuery query) {
-        log.debug("Handling FindAlertsByTimestampRangeQuery: start={}, end={}, page={}, size={}",
-                query.getStartTime(), query.getEndTime(), query.getPageNumber(), query.getPageSize());
-        Pageable pageable = PageRequest.of(query.getPageNumber(), query.getPageSize(), Sort.by("createdAt").descending());
+    public CompletableFuture<PagedAlertResponse> handle(FindAlertsByTimestampRangeQuery query) {
+        log.debug("Handling FindAlertsByTimestampRangeQuery: start={}, end={}, page={}, size={}, cursor={}",
+                query.getStartTime(), query.getEndTime(), query.getPageNumber(), query.getPageSize(), query.getCursor() != null);
         // Assuming query is for 'createdAt'. Change to 'eventTimestamp' if needed.
-        Page<AlertDocument> page = repository.findByCreatedAtBetween(query.getStartTime(), query.getEndTime(), pageable);
-        return convertToPagedResponse(page);
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .createdFrom(query.getStartTime())
+                .createdTo(query.getEndTime())
+                .build();
+        return search(criteria, AlertSearchQueries.DEFAULT_SORT,
+                query.getPageNumber(), query.getPageSize(), query.getCursor(), query.isTrackTotalHits(), query.getFields());
+    }
+
+    @QueryHandler
+    public CompletableFuture<PagedAlertResponse> handle(FindAlertsByStatusQuery query) {
+        log.debug("Handling FindAlertsByStatusQuery: status={}, page={}, size={}, cursor={}",
+                query.getStatus(), query.getPageNumber(), query.getPageSize(), query.getCursor() != null);
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder().statuses(List.of(query.getStatus())).build();
+        Optional<PagedAlertResponse> openAlerts = findOpenAlerts(criteria, true, query.getCursor(), query.getFields(),
+                query.getPageNumber(), query.getPageSize(), query.isTrackTotalHits());
+        if (openAlerts.isPresent()) {
+            return CompletableFuture.completedFuture(openAlerts.get());
+        }
+        return search(criteria, AlertSearchQueries.DEFAULT_SORT,
+                query.getPageNumber(), query.getPageSize(), query.getCursor(), query.isTrackTotalHits(), query.getFields());
+    }
+
+    @QueryHandler
+    public CompletableFuture<PagedAlertResponse> handle(FindAlertsByFilterQuery query) {
+        log.debug("Handling FindAlertsByFilterQuery: criteria={}, sort={} {}, page={}, size={}, cursor={}",
+                query.getCriteria(), query.getSortField(), query.getSortDirection(),
+                query.getPageNumber(), query.getPageSize(), query.getCursor() != null);
+        Sort sort = AlertSearchQueries.toSort(query.getSortField(), query.getSortDirection());
+        Optional<PagedAlertResponse> openAlerts = findOpenAlerts(query.getCriteria(), AlertSearchQueries.DEFAULT_SORT.equals(sort),
+                query.getCursor(), query.getFields(), query.getPageNumber(), query.getPageSize(), query.isTrackTotalHits());
+        if (openAlerts.isPresent()) {
+            return CompletableFuture.completedFuture(openAlerts.get());
+        }
+        return search(query.getCriteria(), sort,
+                query.getPageNumber(), query.getPageSize(), query.getCursor(), query.isTrackTotalHits(), query.getFields());
     }
 
     @QueryHandler
-    public PagedAlertResponse handle(FindAlertsByStatusQuery query) {
-        log.debug("Handling FindAlertsByStatusQuery: status={}, page={}, size={}",
-                query.getStatus(), query.getPageNumber(), query.getPageSize());
-        Pageable pageable = PageRequest.of(query.getPageNumber(), query.getPageSize(), Sort.by("createdAt").descending());
-        Page<AlertDocument> page = repository.findByStatus(query.getStatus(), pageable);
-        return convertToPagedResponse(page);
+    public CompletableFuture<AlertBatchResponse> handle(FindAlertsByIdsQuery query) {
+        log.debug("Handling FindAlertsByIdsQuery: {} ids, fields={}", query.getAlertIds().size(), query.getFields());
+        List<String> alertIds = query.getAlertIds().stream().map(UUID::toString).distinct().toList();
+        // Full alerts go through the by-id cache; a field selection is fetched with a source filter instead
+        CompletableFuture<Map<String, AlertDto>> found = query.getFields() == null
+                ? alertByIdCache.getAll(alertIds, missing -> findByIds(missing, null))
+                : findByIds(alertIds, query.getFields());
+        return found.thenApply(byId -> AlertBatchResponse.builder()
+                .alerts(alertIds.stream().map(byId::get).filter(Objects::nonNull).toList())
+                .missing(alertIds.stream().filter(id -> !byId.containsKey(id)).map(UUID::fromString).toList())
+                .build());
     }
 
     // --- Helper Methods ---
 
-    private AlertDto convertToDto(AlertDocument doc) {
-        if (doc == null) {
-            return null;
+    /**
+     * Answers from the in-memory {@link OpenAlertIndex} when it is enabled and the query is a plain newest-first
+     * offset page of open alerts.
+     */
+    private Optional<PagedAlertResponse> findOpenAlerts(AlertSearchCriteria criteria, boolean defaultSort, String cursor,
+                                                        List<String> fields, int pageNumber, int pageSize,
+                                                        boolean trackTotalHits) {
+        OpenAlertIndex index = openAlertIndex.getIfAvailable();
+        if (index == null || !defaultSort || cursor != null || fields != null) {
+            return Optional.empty();
         }
-        return AlertDto.builder()
-                .alertId(UUID.fromString(doc.getAlertId()))
-                .severity(doc.getSeverity())
-                .description(doc.getDescription())
-                .source(doc.getSource())
-                .status(doc.getStatus())
-                .details(doc.getDetails())
-                .createdAt(doc.getCreatedAt())
-                .updatedAt(doc.getUpdatedAt())
-                .eventTimestamp(doc.getEventTimestamp())
-                .initiatedBy(doc.getInitiatedBy())
-                .updatedBy(doc.getUpdatedBy())
-                .acknowledgedAt(doc.getAcknowledgedAt())
-                .acknowledgedBy(doc.getAcknowledgedBy())
-                .acknowledgementNotes(doc.getAcknowledgementNotes())
-                .resolvedAt(doc.getResolvedAt())
-                .resolvedBy(doc.getResolvedBy())
-                .resolutionDetails(doc.getResolutionDetails())
-                .closedAt(doc.getClosedAt())
-                .closedBy(doc.getClosedBy())
-                .closingReason(doc.getClosingReason())
-                .assignee(doc.getAssignee())
-                .assignedAt(doc.getAssignedAt())
-                .assignedBy(doc.getAssignedBy())
-                .notes(doc.getNotes() != null ? doc.getNotes() : Collections.emptyList())
-                .build();
+        return index.find(criteria, pageNumber, pageSize, trackTotalHits);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private CompletableFuture<Optional<AlertDto>> findById(String alertId) {
+        // Real-time get from the alert's period index, so a freshly invalidated entry never reloads a stale version
+        return alertIndexLocator.locateAsync(alertId).thenCompose(indexName -> indexName.isEmpty()
+                ? CompletableFuture.completedFuture(Optional.<AlertDto>empty())
+                : asyncClient.get(g -> g.index(indexName.get()).id(alertId), Map.class)
+                        .thenApply(response -> response.found() && response.source() != null
+                                ? Optional.of(convertToDto(documentReader.read(response.id(), response.source())))
+                                : Optional.<AlertDto>empty()));
+    }
+
+    /**
+     * One real-time multi-get for all located alerts, across their period indices.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private CompletableFuture<Map<String, AlertDto>> findByIds(List<String> alertIds, List<String> fields) {
+        return alertIndexLocator.locateAsync(alertIds).thenCompose(indexById -> {
+            if (indexById.isEmpty()) {
+                return CompletableFuture.completedFuture(Map.<String, AlertDto>of());
+            }
+            MgetRequest request = MgetRequest.of(m -> {
+                indexById.forEach((alertId, indexName) -> m.docs(d -> d.index(indexName).id(alertId)));
+                if (fields != null) {
+                    m.sourceIncludes(fields);
+                }
+                return m;
+            });
+            return asyncClient.mget(request, Map.class).thenApply(response -> {
+                Map<String, AlertDto> found = new HashMap<>();
+                for (MultiGetResponseItem<Map> item : response.docs()) {
+                    if (item.isResult() && item.result().found() && item.result().source() != null) {
+                        AlertDocument doc = documentReader.read(item.result().id(), item.result().source());
+                        found.put(doc.getAlertId(), AlertDocumentMapper.toDto(doc, fields == null));
+                    }
+                }
+                return found;
+            });
+        });
+    }
+
+    private CompletableFuture<PagedAlertResponse> search(AlertSearchCriteria criteria, Sort sort, int pageNumber, int pageSize,
+                                                         String cursor, boolean trackTotalHits, List<String> fields) {
+        return searchExecutor.search(alertIndices.readTargets(criteria), AlertSearchQueries.toQuery(criteria, alertDetailFields), sort,
+                        pageNumber, pageSize, cursor, trackTotalHits, fields)
+                .thenApply(page -> convertToPagedResponse(page, fields == null));
+    }
+
+    private AlertDto convertToDto(AlertDocument doc) {
+        return AlertDocumentMapper.toDto(doc, true);
     }
 
-    private PagedAlertResponse convertToPagedResponse(Page<AlertDocument> page) {
-        List<AlertDto> dtoList = page.getContent().stream()
-                .map(this::convertToDto)
+    private PagedAlertResponse convertToPagedResponse(AlertSearchPage page, boolean full) {
+        List<AlertDto> dtoList = page.getDocuments().stream()
+                .map(doc -> AlertDocumentMapper.toDto(doc, full))
                 .collect(Collectors.toList());
 
+        long total = page.getTotalHits();
+        int totalPages = total < 0 ? -1 : (int) Math.ceil((double) total / page.getPageSize());
         return PagedAlertResponse.builder()
                 .alerts(dtoList)
-                .pageNumber(page.getNumber())
-                .pageSize(page.getSize())
-                .totalElements(page.getTotalElements())
-                .totalPages(page.getTotalPages())
+                .pageNumber(page.getPageNumber())
+                .pageSize(page.getPageSize())
+                .totalElements(total)
+                .totalPages(totalPages)
                 .last(page.isLast())
+                .nextCursor(page.getNextCursor())
+                .checkpoint(page.getCheckpoint())
                 .build();
     }
 }
@@ -0,0 +1,181 @@
+package template.cqrs.read_model.elasticsearch.handler;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregate;
+import co.elastic.clients.elasticsearch._types.aggregations.Aggregation;
+import co.elastic.clients.elasticsearch._types.aggregations.FieldDateMath;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.FindAlertStatisticsQuery;
+import template.cqrs.domain.model.alert.dto.AlertStatisticsDto;
+import template.cqrs.read_model.elasticsearch.document.AlertDetailFields;
+import template.cqrs.read_model.elasticsearch.index.AlertIndices;
+import template.cqrs.read_model.elasticsearch.search.AlertSearchQueries;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+/**
+ * Answers {@link FindAlertStatisticsQuery} with a single {@code size=0} search: terms aggregations on the keyword
+ * fields and a {@code date_histogram} on {@code createdAt}, all over the same filter as the list queries.
+ * Results are cached for a few seconds, so dashboards refreshing the same view share one search. The search runs
+ * on the asynchronous client and the handler returns its future.
+ * <p>
+ * Empty histogram buckets are filled in, so the bucket count follows the time range rather than the data and
+ * could exceed Elasticsearch's {@code search.max_buckets}. The histogram is therefore hard-bounded to the filter's
+ * {@code createdFrom}/{@code createdTo} (up to now), a bounded range needing more than
+ * {@code app.query.stats.max-histogram-buckets} intervals is rejected, and without {@code createdFrom} the
+ * histogram covers the last {@code max-histogram-buckets} intervals only.
+ */
+@Component
+@Slf4j
+public class AlertStatisticsQueryHandler {
+
+    private static final Pattern FIXED_INTERVAL = Pattern.compile("[1-9][0-9]{0,5}[smhd]");
+
+    private final ElasticsearchAsyncClient asyncClient;
+    private final AlertIndices alertIndices;
+    private final AlertDetailFields alertDetailFields;
+    private final Cache<FindAlertStatisticsQuery, AlertStatisticsDto> cache;
+
+    @Value("${app.query.stats.max-histogram-buckets:1000}")
+    private int maxHistogramBuckets;
+
+    public AlertStatisticsQueryHandler(ElasticsearchAsyncClient asyncClient,
+                                       AlertIndices alertIndices,
+                                       AlertDetailFields alertDetailFields,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${app.query.stats.cache-ttl-ms:5000}") long cacheTtlMs) {
+        this.asyncClient = asyncClient;
+        this.alertIndices = alertIndices;
+        this.alertDetailFields = alertDetailFields;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(1000)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "alert-statistics");
+    }
+
+    @QueryHandler
+    public CompletableFuture<AlertStatisticsDto> handle(FindAlertStatisticsQuery query) {
+        log.debug("Handling FindAlertStatisticsQuery: criteria={}, interval={}, top={}",
+                query.getCriteria(), query.getHistogramInterval(), query.getTopTerms());
+        if (query.getHistogramInterval() == null || !FIXED_INTERVAL.matcher(query.getHistogramInterval()).matches()) {
+            throw new IllegalArgumentException("Invalid histogram interval: " + query.getHistogramInterval()
+                    + ", expected e.g. 30m, 1h or 1d");
+        }
+        if (query.getTopTerms() < 1 || query.getTopTerms() > 100) {
+            throw new IllegalArgumentException("topTerms must be between 1 and 100");
+        }
+        Instant from = query.getCriteria() != null ? query.getCriteria().getCreatedFrom() : null;
+        Instant to = query.getCriteria() != null ? query.getCriteria().getCreatedTo() : null;
+        long intervalMs = intervalMillis(query.getHistogramInterval());
+        if (from != null && (to != null ? to : Instant.now()).toEpochMilli() - from.toEpochMilli() > intervalMs * maxHistogramBuckets) {
+            throw new IllegalArgumentException("Histogram interval " + query.getHistogramInterval()
+                    + " is too small for the time range, at most " + maxHistogramBuckets + " buckets are allowed");
+        }
+        AlertStatisticsDto cached = cache.getIfPresent(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        return search(query).thenApply(statistics -> {
+            cache.put(query, statistics);
+            return statistics;
+        });
+    }
+
+    private CompletableFuture<AlertStatisticsDto> search(FindAlertStatisticsQuery query) {
+        int top = query.getTopTerms();
+        Instant to = query.getCriteria() != null && query.getCriteria().getCreatedTo() != null
+                ? query.getCriteria().getCreatedTo() : Instant.now();
+        Instant from = query.getCriteria() != null && query.getCriteria().getCreatedFrom() != null
+                ? query.getCriteria().getCreatedFrom()
+                : to.minusMillis(intervalMillis(query.getHistogramInterval()) * maxHistogramBuckets);
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(alertIndices.readTargets(query.getCriteria()))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .query(AlertSearchQueries.toQuery(query.getCriteria(), alertDetailFields))
+                .size(0)
+                .trackTotalHits(t -> t.enabled(true))
+                .aggregations("by_status", terms("status", top))
+                .aggregations("by_severity", terms("severity", top))
+                .aggregations("by_source", terms("source", top))
+                .aggregations("by_assignee", terms("assignee", top))
+                .aggregations("created_histogram", Aggregation.of(a -> a.dateHistogram(h -> h
+                        .field("createdAt")
+                        .fixedInterval(t -> t.time(query.getHistogramInterval()))
+                        .minDocCount(0)
+                        .hardBounds(b -> b
+                                .min(FieldDateMath.of(m -> m.value((double) from.toEpochMilli())))
+                                .max(FieldDateMath.of(m -> m.value((double) to.toEpochMilli()))))))));
+        return asyncClient.search(request, Void.class).thenApply(response -> {
+            long total = response.hits().total() != null ? response.hits().total().value() : 0;
+            Map<String, Aggregate> byName = response.aggregations();
+            if (byName == null || byName.isEmpty()) {
+                // No alert index exists yet (allowNoIndices)
+                return empty(query, total);
+            }
+            List<AlertStatisticsDto.HistogramBucket> histogram = byName.get("created_histogram").dateHistogram().buckets().array().stream()
+                    .map(bucket -> new AlertStatisticsDto.HistogramBucket(Instant.ofEpochMilli(bucket.key()), bucket.docCount()))
+                    .toList();
+            return AlertStatisticsDto.builder()
+                    .total(total)
+                    .byStatus(counts(byName.get("by_status")))
+                    .bySeverity(counts(byName.get("by_severity")))
+                    .bySource(counts(byName.get("by_source")))
+                    .byAssignee(counts(byName.get("by_assignee")))
+                    .histogramInterval(query.getHistogramInterval())
+                    .createdHistogram(histogram)
+                    .build();
+        });
+    }
+
+    private static AlertStatisticsDto empty(FindAlertStatisticsQuery query, long total) {
+        return AlertStatisticsDto.builder()
+                .total(total)
+                .byStatus(Map.of())
+                .bySeverity(Map.of())
+                .bySource(Map.of())
+                .byAssignee(Map.of())
+                .histogramInterval(query.getHistogramInterval())
+                .createdHistogram(List.of())
+                .build();
+    }
+
+    private static long intervalMillis(String interval) {
+        long amount = Long.parseLong(interval.substring(0, interval.length() - 1));
+        return switch (interval.charAt(interval.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount).toMillis();
+            case 'm' -> Duration.ofMinutes(amount).toMillis();
+            case 'h' -> Duration.ofHours(amount).toMillis();
+            default -> Duration.ofDays(amount).toMillis();
+        };
+    }
+
+    private static Aggregation terms(String field, int size) {
+        return Aggregation.of(a -> a.terms(t -> t.field(field).size(size)));
+    }
+
+    private static Map<String, Long> counts(Aggregate aggregate) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        for (StringTermsBucket bucket : aggregate.sterms().buckets().array()) {
+            counts.put(bucket.key().stringValue(), bucket.docCount());
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,158 @@
+package template.cqrs.read_model.elasticsearch.handler;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.ShardStatistics;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.search.Suggestion;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.SuggestAlertValuesQuery;
+import template.cqrs.domain.model.alert.dto.AlertSuggestionsDto;
+import template.cqrs.read_model.elasticsearch.index.AlertIndices;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Typeahead for the alert search box. {@code source} and {@code assignee} values come from completion suggesters on
+ * their {@code suggest} subfields (in-memory FSTs, no document is scored or fetched); description suggestions are a
+ * {@code bool_prefix} match on the {@code description.prefix} search_as_you_type subfield, whose shingle and
+ * edge-ngram parts turn the last, partially typed word into a term lookup instead of a wildcard scan.
+ * <p>
+ * Users typing the same prefix within a few seconds share one search through a short-lived cache. Answers with
+ * failed shards (for instance a period index created before its mapping had the {@code suggest} subfields) are
+ * logged and served, but not cached.
+ */
+@Component
+@Slf4j
+public class AlertSuggestQueryHandler {
+
+    public static final Set<String> FIELDS = Set.of("description", "source", "assignee");
+    private static final int MAX_SIZE = 20;
+    private static final int MAX_PREFIX_LENGTH = 100;
+
+    private final ElasticsearchAsyncClient asyncClient;
+    private final Cache<SuggestAlertValuesQuery, AlertSuggestionsDto> cache;
+
+    public AlertSuggestQueryHandler(ElasticsearchAsyncClient asyncClient,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.query.suggest.cache-ttl-ms:2000}") long cacheTtlMs) {
+        this.asyncClient = asyncClient;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMillis(cacheTtlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "alert-suggestions");
+    }
+
+    @QueryHandler
+    public CompletableFuture<AlertSuggestionsDto> handle(SuggestAlertValuesQuery query) {
+        log.debug("Handling SuggestAlertValuesQuery: field={}, prefix={}, size={}",
+                query.getField(), query.getPrefix(), query.getSize());
+        if (!FIELDS.contains(query.getField())) {
+            throw new IllegalArgumentException("Unsupported suggest field: " + query.getField() + ", expected one of " + FIELDS);
+        }
+        if (query.getPrefix() == null || query.getPrefix().isBlank() || query.getPrefix().length() > MAX_PREFIX_LENGTH) {
+            throw new IllegalArgumentException("prefix must be 1 to " + MAX_PREFIX_LENGTH + " characters");
+        }
+        if (query.getSize() < 1 || query.getSize() > MAX_SIZE) {
+            throw new IllegalArgumentException("size must be between 1 and " + MAX_SIZE);
+        }
+        AlertSuggestionsDto cached = cache.getIfPresent(query);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+        CompletableFuture<Suggestions> suggestions = "description".equals(query.getField())
+                ? suggestDescriptions(query.getPrefix(), query.getSize())
+                : complete(query.getField(), query.getPrefix(), query.getSize());
+        return suggestions.thenApply(found -> {
+            AlertSuggestionsDto result = AlertSuggestionsDto.builder()
+                    .field(query.getField())
+                    .prefix(query.getPrefix())
+                    .suggestions(found.values())
+                    .build();
+            if (found.complete()) {
+                cache.put(query, result);
+            }
+            return result;
+        });
+    }
+
+    private record Suggestions(List<String> values, boolean complete) {
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CompletableFuture<Suggestions> complete(String field, String prefix, int size) {
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(AlertIndices.READ_ALIAS)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .size(0)
+                .source(src -> src.fetch(false))
+                .suggest(sg -> sg.suggesters("values", fs -> fs
+                        .prefix(prefix)
+                        .completion(c -> c.field(field + ".suggest").skipDuplicates(true).size(size)))));
+        return asyncClient.search(request, Map.class).thenApply(response -> {
+            Set<String> values = new LinkedHashSet<>();
+            List<Suggestion<Map>> suggestions = response.suggest() != null
+                    ? response.suggest().getOrDefault("values", List.of())
+                    : List.of();
+            suggestions.forEach(suggestion -> suggestion.completion().options()
+                    .forEach(option -> values.add(option.text())));
+            return new Suggestions(limit(values, size), allShardsAnswered(response.shards(), field));
+        });
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private CompletableFuture<Suggestions> suggestDescriptions(String prefix, int size) {
+        String field = "description.prefix";
+        SearchRequest request = SearchRequest.of(s -> s
+                .index(AlertIndices.READ_ALIAS)
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .query(q -> q.multiMatch(m -> m
+                        .query(prefix)
+                        .type(TextQueryType.BoolPrefix)
+                        .fields(field, field + "._2gram", field + "._3gram")))
+                .source(src -> src.filter(f -> f.includes("description")))
+                .size(size * 2) // Alerts repeat descriptions; over-fetch so enough distinct ones remain
+                .trackTotalHits(t -> t.enabled(false)));
+        return asyncClient.search(request, Map.class).thenApply(response -> {
+            Set<String> values = new LinkedHashSet<>();
+            response.hits().hits().forEach(hit -> {
+                Map<String, Object> source = (Map<String, Object>) hit.source();
+                if (source != null && source.get("description") instanceof String description) {
+                    values.add(description);
+                }
+            });
+            return new Suggestions(limit(values, size), allShardsAnswered(response.shards(), "description"));
+        });
+    }
+
+    private static boolean allShardsAnswered(ShardStatistics shards, String field) {
+        if (shards == null || shards.failed().intValue() == 0) {
+            return true;
+        }
+        log.warn("Suggestions for {} answered by {} of {} shards; failures: {}", field,
+                shards.successful(), shards.total(),
+                shards.failures().stream().map(f -> f.index() + ": " + f.reason().reason()).toList());
+        return false;
+    }
+
+    private static List<String> limit(Set<String> values, int size) {
+        return new ArrayList<>(values).subList(0, Math.min(size, values.size()));
+    }
+}
@@ -0,0 +1,162 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetOperation;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Finds the period index holding an alert. Update events do not carry {@code createdAt}, so the index of an
+ * existing alert is remembered when the projection writes it and otherwise looked up, one round of requests for a
+ * whole batch. Searches are near-real-time and would miss an alert written by another instance since the last
+ * refresh, so a lookup first does a real-time multi-get against the current and the previous period index, where
+ * any such recent alert lives, and only searches the read alias with an {@code ids} query for the rest.
+ * <p>
+ * Entries are never invalidated across instances, and need not be: the period index of an alert follows from its
+ * {@code createdAt} and never changes, and a recreated index keeps its name. An entry can at worst name an index
+ * whose copy of the alert was removed by retention, which then reads as not found, as it would without the cache.
+ */
+@Component
+@Slf4j
+public class AlertIndexLocator {
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchAsyncClient asyncClient;
+    private final AlertIndices alertIndices;
+    private final Cache<String, String> indexById;
+
+    public AlertIndexLocator(ElasticsearchClient client,
+                             ElasticsearchAsyncClient asyncClient,
+                             AlertIndices alertIndices,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.read-model.index.locator-cache-size:200000}") long cacheSize) {
+        this.client = client;
+        this.asyncClient = asyncClient;
+        this.alertIndices = alertIndices;
+        this.indexById = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, indexById, "alert-index-locator");
+    }
+
+    public void remember(String alertId, String indexName) {
+        indexById.put(alertId, indexName);
+    }
+
+    public void clear() {
+        indexById.invalidateAll();
+    }
+
+    /**
+     * Indices of the given alerts; alerts not found in any index are missing from the result.
+     */
+    public Map<String, String> locate(Collection<String> alertIds) {
+        Map<String, String> located = new HashMap<>(indexById.getAllPresent(alertIds));
+        List<String> missing = missing(alertIds, located);
+        if (!missing.isEmpty()) {
+            try {
+                located.putAll(remember(client.mget(recentGet(missing), Void.class)));
+                List<String> older = missing(missing, located);
+                if (!older.isEmpty()) {
+                    located.putAll(remember(client.search(idsSearch(older), Void.class)));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to locate alert indices", e);
+            }
+        }
+        return located;
+    }
+
+    public CompletableFuture<Optional<String>> locateAsync(String alertId) {
+        return locateAsync(List.of(alertId)).thenApply(located -> Optional.ofNullable(located.get(alertId)));
+    }
+
+    /**
+     * Non-blocking {@link #locate(Collection)}.
+     */
+    public CompletableFuture<Map<String, String>> locateAsync(Collection<String> alertIds) {
+        Map<String, String> located = new HashMap<>(indexById.getAllPresent(alertIds));
+        List<String> missing = missing(alertIds, located);
+        if (missing.isEmpty()) {
+            return CompletableFuture.completedFuture(located);
+        }
+        return asyncClient.mget(recentGet(missing), Void.class).thenCompose(recent -> {
+            located.putAll(remember(recent));
+            List<String> older = missing(missing, located);
+            if (older.isEmpty()) {
+                return CompletableFuture.completedFuture(located);
+            }
+            return asyncClient.search(idsSearch(older), Void.class).thenApply(response -> {
+                located.putAll(remember(response));
+                return located;
+            });
+        });
+    }
+
+    private static List<String> missing(Collection<String> alertIds, Map<String, String> located) {
+        return alertIds.stream().filter(id -> !located.containsKey(id)).distinct().toList();
+    }
+
+    private MgetRequest recentGet(List<String> alertIds) {
+        List<MultiGetOperation> docs = new ArrayList<>();
+        for (String indexName : alertIndices.recentIndices()) {
+            for (String alertId : alertIds) {
+                docs.add(MultiGetOperation.of(d -> d.index(indexName).id(alertId)));
+            }
+        }
+        // A period index that does not exist yet fails its items only, not the request
+        return MgetRequest.of(m -> m.docs(docs).source(src -> src.fetch(false)));
+    }
+
+    private static SearchRequest idsSearch(List<String> alertIds) {
+        return SearchRequest.of(s -> s
+                .index(AlertIndices.READ_ALIAS)
+                .query(q -> q.ids(i -> i.values(alertIds)))
+                .source(src -> src.fetch(false))
+                .size(alertIds.size())
+                .trackTotalHits(t -> t.enabled(false)));
+    }
+
+    private Map<String, String> remember(MgetResponse<Void> response) {
+        Map<String, String> located = new HashMap<>();
+        for (MultiGetResponseItem<Void> item : response.docs()) {
+            if (item.isResult() && item.result().found()) {
+                located.put(item.result().id(), item.result().index());
+                indexById.put(item.result().id(), item.result().index());
+            }
+        }
+        return located;
+    }
+
+    private Map<String, String> remember(SearchResponse<Void> response) {
+        Map<String, String> located = new HashMap<>();
+        for (Hit<Void> hit : response.hits().hits()) {
+            located.put(hit.id(), hit.index());
+            indexById.put(hit.id(), hit.index());
+        }
+        return located;
+    }
+}
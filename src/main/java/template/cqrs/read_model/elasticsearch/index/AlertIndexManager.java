@@ -0,0 +1,246 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch.indices.SegmentSortOrder;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Component;
+import template.cqrs.read_model.elasticsearch.document.AlertDetailFields;
+import template.cqrs.read_model.elasticsearch.document.AlertDocument;
+import template.cqrs.read_model.elasticsearch.document.AlertNoteDocument;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the {@code alerts-template} index template and the period indices it applies to.
+ * <p>
+ * The template carries the {@link AlertDocument} mapping, the configured shard and replica counts and the
+ * {@link AlertIndices#READ_ALIAS} alias, plus a keyword mapping per hot detail key and completion subfields for
+ * typeahead, so every period index, whether created here or auto-created by the first write of a new period, is set
+ * up the same way. The template is re-applied at startup; changed shard counts take
+ * effect from the next period index on.
+ * <p>
+ * Unless disabled, segments are sorted on {@code createdAt} descending (optionally then {@code severity}), the
+ * order of every default list query. A search sorted that way without total-hit tracking stops reading each
+ * segment once the page is filled instead of collecting and sorting all matches. Index sorting is fixed when an
+ * index is created, so toggling it also only affects new period indices (or all of them after a reset).
+ * Elasticsearch rejects index sorting on mappings with {@code nested} fields; should the mapping ever gain one,
+ * sorting is left out of the template with a warning instead of failing startup.
+ * <p>
+ * The {@link AlertNoteDocument#INDEX_NAME} index is maintained here too, with the same shard and replica counts.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertIndexManager {
+
+    public static final String TEMPLATE_NAME = "alerts-template";
+    private static final String SUGGEST_ANALYZER = "alert_suggest";
+    // Keyword fields that get a "<field>.suggest" completion subfield
+    private static final List<String> SUGGEST_FIELDS = List.of("source", "assignee");
+
+    private final ElasticsearchClient client;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final AlertIndices alertIndices;
+    private final AlertDetailFields alertDetailFields;
+
+    @Value("${app.read-model.index.shards:1}")
+    private int shards;
+
+    @Value("${app.read-model.index.replicas:0}")
+    private int replicas;
+
+    @Value("${app.read-model.index.sort.enabled:true}")
+    private boolean indexSort;
+
+    @Value("${app.read-model.index.sort.severity-tiebreak:false}")
+    private boolean severityTiebreak;
+
+    @PostConstruct
+    public void init() {
+        putTemplate();
+        // The current period index always exists, so the read alias resolves even before the first alert
+        ensureIndex(alertIndices.currentIndex());
+        ensureNotesIndex();
+        if (exists(AlertIndices.LEGACY_INDEX)) {
+            log.warn("Legacy single index '{}' found. Reset alert-projection-group to rebuild the read model into "
+                    + "the time-partitioned '{}' indices.", AlertIndices.LEGACY_INDEX, AlertIndices.INDEX_PATTERN);
+        }
+    }
+
+    public void putTemplate() {
+        Document templateMapping = templateMapping();
+        String mapping = templateMapping.toJson();
+        boolean sorted = indexSort && !hasNestedFields(templateMapping);
+        if (indexSort && !sorted) {
+            log.warn("The alert mapping has nested fields, which index sorting does not support; "
+                    + "creating alert indices without app.read-model.index.sort.");
+        }
+        try {
+            client.indices().putIndexTemplate(t -> t
+                    .name(TEMPLATE_NAME)
+                    .indexPatterns(AlertIndices.INDEX_PATTERN)
+                    .template(tm -> tm
+                            .settings(s -> {
+                                s.numberOfShards(String.valueOf(shards)).numberOfReplicas(String.valueOf(replicas));
+                                // Whole value, lowercased: "Prometheus-01" is suggested for "prom" and "PROMETHEUS-0"
+                                s.analysis(a -> a.analyzer(SUGGEST_ANALYZER, an -> an.custom(c -> c
+                                        .tokenizer("keyword")
+                                        .filter("lowercase"))));
+                                if (sorted) {
+                                    s.sort(so -> so.field(sortFields()).order(sortOrders()));
+                                }
+                                return s;
+                            })
+                            .mappings(m -> m.withJson(new StringReader(mapping)))
+                            .aliases(AlertIndices.READ_ALIAS, a -> a)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to put index template " + TEMPLATE_NAME, e);
+        }
+        log.info("Index template {} applied to {} (shards={}, replicas={}, sort={}, hot detail keys={}).",
+                TEMPLATE_NAME, AlertIndices.INDEX_PATTERN, shards, replicas, sorted ? sortFields() : "none",
+                alertDetailFields.hotKeys());
+    }
+
+    /**
+     * The {@link AlertDocument} mapping with a keyword property per configured hot detail key under
+     * {@code hotDetails} (mapped with {@code dynamic: false}, so other keys never reach the mapping) and a
+     * {@code suggest} completion subfield on each of {@link #SUGGEST_FIELDS}, which Spring Data cannot declare.
+     */
+    @SuppressWarnings("unchecked")
+    private Document templateMapping() {
+        Document mapping = elasticsearchOperations.indexOps(AlertDocument.class).createMapping();
+        Map<String, Object> properties = (Map<String, Object>) mapping.get("properties");
+        Map<String, Object> hotDetails = new LinkedHashMap<>((Map<String, Object>) properties.getOrDefault("hotDetails",
+                Map.of("type", "object", "dynamic", "false")));
+        Map<String, Object> hotProperties = new LinkedHashMap<>();
+        alertDetailFields.hotKeys().forEach(key -> hotProperties.put(key, Map.of("type", "keyword")));
+        hotDetails.put("properties", hotProperties);
+        properties.put("hotDetails", hotDetails);
+        for (String field : SUGGEST_FIELDS) {
+            Map<String, Object> property = new LinkedHashMap<>((Map<String, Object>) properties.get(field));
+            property.put("fields", Map.of("suggest", Map.of("type", "completion", "analyzer", SUGGEST_ANALYZER)));
+            properties.put(field, property);
+        }
+        return mapping;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean hasNestedFields(Map<String, Object> mapping) {
+        Object properties = mapping.get("properties");
+        if (!(properties instanceof Map)) {
+            return false;
+        }
+        for (Object property : ((Map<String, Object>) properties).values()) {
+            if (property instanceof Map<?, ?> field
+                    && ("nested".equals(field.get("type")) || hasNestedFields((Map<String, Object>) field))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> sortFields() {
+        return severityTiebreak ? List.of("createdAt", "severity") : List.of("createdAt");
+    }
+
+    private List<SegmentSortOrder> sortOrders() {
+        return severityTiebreak ? List.of(SegmentSortOrder.Desc, SegmentSortOrder.Asc) : List.of(SegmentSortOrder.Desc);
+    }
+
+    public void ensureIndex(String indexName) {
+        if (exists(indexName)) {
+            return;
+        }
+        try {
+            client.indices().create(c -> c.index(indexName));
+            log.info("Created alert index {}.", indexName);
+        } catch (ElasticsearchException e) {
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create index " + indexName, e);
+        }
+    }
+
+    private void ensureNotesIndex() {
+        if (exists(AlertNoteDocument.INDEX_NAME)) {
+            return;
+        }
+        String mapping = elasticsearchOperations.indexOps(AlertNoteDocument.class).createMapping().toJson();
+        try {
+            client.indices().create(c -> c
+                    .index(AlertNoteDocument.INDEX_NAME)
+                    .settings(s -> s.numberOfShards(String.valueOf(shards)).numberOfReplicas(String.valueOf(replicas)))
+                    .mappings(m -> m.withJson(new StringReader(mapping))));
+            log.info("Created notes index {} (shards={}, replicas={}).", AlertNoteDocument.INDEX_NAME, shards, replicas);
+        } catch (ElasticsearchException e) {
+            if (!"resource_already_exists_exception".equals(e.error().type())) {
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create index " + AlertNoteDocument.INDEX_NAME, e);
+        }
+    }
+
+    /**
+     * Names of all existing period indices.
+     */
+    public List<String> periodIndices() {
+        try {
+            return new ArrayList<>(client.indices().get(g -> g.index(AlertIndices.INDEX_PATTERN)).result().keySet());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list alert indices", e);
+        }
+    }
+
+    public void deleteIndices(List<String> indexNames) {
+        if (indexNames.isEmpty()) {
+            return;
+        }
+        try {
+            // Explicit names: wildcard deletes are rejected with action.destructive_requires_name (default)
+            client.indices().delete(d -> d.index(indexNames));
+            log.warn("Deleted alert indices {}.", indexNames);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete indices " + indexNames, e);
+        }
+    }
+
+    /**
+     * Drops all alert indices (period indices and the legacy single index) and the notes index, and sets up an
+     * empty read model.
+     */
+    public void recreate() {
+        List<String> indices = periodIndices();
+        for (String index : List.of(AlertIndices.LEGACY_INDEX, AlertNoteDocument.INDEX_NAME)) {
+            if (exists(index)) {
+                indices.add(index);
+            }
+        }
+        deleteIndices(indices);
+        putTemplate();
+        ensureIndex(alertIndices.currentIndex());
+        ensureNotesIndex();
+    }
+
+    private boolean exists(String indexName) {
+        try {
+            return client.indices().exists(e -> e.index(indexName)).value();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to check index " + indexName, e);
+        }
+    }
+}
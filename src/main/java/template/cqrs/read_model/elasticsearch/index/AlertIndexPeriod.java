@@ -0,0 +1,56 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Time span covered by one alert index. Alerts go to the index of the period their {@code createdAt} falls in
+ * (UTC), named {@code alerts-<period>}.
+ */
+public enum AlertIndexPeriod {
+
+    DAILY("yyyy.MM.dd"),
+    MONTHLY("yyyy.MM");
+
+    private final DateTimeFormatter formatter;
+
+    AlertIndexPeriod(String pattern) {
+        this.formatter = DateTimeFormatter.ofPattern(pattern).withZone(ZoneOffset.UTC);
+    }
+
+    public String format(Instant instant) {
+        return formatter.format(instant);
+    }
+
+    /**
+     * Start of the period containing the instant.
+     */
+    public Instant start(Instant instant) {
+        LocalDate date = instant.atZone(ZoneOffset.UTC).toLocalDate();
+        LocalDate start = this == DAILY ? date : date.withDayOfMonth(1);
+        return start.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    public Instant next(Instant periodStart) {
+        LocalDate date = periodStart.atZone(ZoneOffset.UTC).toLocalDate();
+        LocalDate next = this == DAILY ? date.plusDays(1) : date.plusMonths(1);
+        return next.atStartOfDay(ZoneOffset.UTC).toInstant();
+    }
+
+    /**
+     * Parses the period part of an index name back to the period start, if it is one of this period's names.
+     */
+    public Optional<Instant> parse(String period) {
+        try {
+            String pattern = this == DAILY ? period : period + ".01";
+            LocalDate date = LocalDate.parse(pattern, DateTimeFormatter.ofPattern("yyyy.MM.dd"));
+            return Optional.of(date.atStartOfDay(ZoneOffset.UTC).toInstant());
+        } catch (DateTimeParseException e) {
+            return Optional.empty();
+        }
+    }
+}
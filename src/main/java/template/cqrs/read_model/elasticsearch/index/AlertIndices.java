@@ -0,0 +1,83 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Naming of the time-partitioned alert indices.
+ * <p>
+ * Every alert is stored in {@code alerts-<period>} for the period of its {@code createdAt}, so the index of an
+ * alert never changes and re-projecting an event overwrites the same document. All period indices carry the
+ * {@link #READ_ALIAS} alias (added by the index template). Searches bounded on {@code createdAt} target only the
+ * period indices overlapping the range; everything else searches the alias.
+ */
+@Component
+public class AlertIndices {
+
+    public static final String READ_ALIAS = "alerts-read";
+    public static final String INDEX_PREFIX = "alerts-";
+    public static final String INDEX_PATTERN = INDEX_PREFIX + "*";
+    /** Single index used before time partitioning; removed when the projection is reset. */
+    public static final String LEGACY_INDEX = "alerts";
+
+    @Value("${app.read-model.index.period:MONTHLY}")
+    private AlertIndexPeriod period;
+
+    @Value("${app.read-model.index.max-pruned-indices:48}")
+    private int maxPrunedIndices; // Wider ranges search the alias instead of listing every period index
+
+    public String indexFor(Instant createdAt) {
+        return INDEX_PREFIX + period.format(createdAt);
+    }
+
+    public String currentIndex() {
+        return indexFor(Instant.now());
+    }
+
+    /**
+     * The current and the previous period index, which hold every alert created since the previous period began.
+     */
+    public List<String> recentIndices() {
+        Instant currentStart = period.start(Instant.now());
+        return List.of(indexFor(currentStart), indexFor(currentStart.minusMillis(1)));
+    }
+
+    /**
+     * Start of the period an index covers, or empty if the name is not a period index of the configured period.
+     */
+    public Optional<Instant> periodStart(String indexName) {
+        if (!indexName.startsWith(INDEX_PREFIX)) {
+            return Optional.empty();
+        }
+        return period.parse(indexName.substring(INDEX_PREFIX.length()));
+    }
+
+    /**
+     * Indices to search for the given criteria: the period indices overlapping its {@code createdAt} range, or the
+     * read alias when the range is open at the start or spans more than {@code max-pruned-indices} periods.
+     * Listed indices may not exist (periods without alerts); requests must ignore unavailable indices.
+     */
+    public List<String> readTargets(AlertSearchCriteria criteria) {
+        if (criteria == null || criteria.getCreatedFrom() == null) {
+            return List.of(READ_ALIAS);
+        }
+        Instant to = criteria.getCreatedTo() != null ? criteria.getCreatedTo() : Instant.now();
+        if (to.isBefore(criteria.getCreatedFrom())) {
+            return List.of(indexFor(criteria.getCreatedFrom())); // Empty range, one index keeps the request valid
+        }
+        List<String> indices = new ArrayList<>();
+        for (Instant start = period.start(criteria.getCreatedFrom()); !start.isAfter(to); start = period.next(start)) {
+            if (indices.size() == maxPrunedIndices) {
+                return List.of(READ_ALIAS);
+            }
+            indices.add(indexFor(start));
+        }
+        return indices;
+    }
+}
@@ -0,0 +1,117 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Conflicts;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.cat.indices.IndicesRecord;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+import template.cqrs.read_model.elasticsearch.cache.AlertByIdCache;
+import template.cqrs.read_model.elasticsearch.document.AlertNoteDocument;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Periodically removes alerts that have been closed or deleted for longer than the retention period from the read
+ * model, together with their notes, then drops past period indices left empty. The event store is untouched; a
+ * projection reset brings the removed alerts back.
+ * <p>
+ * Alerts are removed in batches: the ids of a batch are read first, their notes are deleted, then the alerts
+ * themselves. A run that fails halfway leaves alerts without notes, never notes without an alert, and the next run
+ * picks the alerts up again.
+ */
+@Component
+@ConditionalOnProperty(name = "app.read-model.retention.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class AlertRetentionJob {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final ElasticsearchClient client;
+    private final AlertIndices alertIndices;
+    private final AlertIndexManager alertIndexManager;
+    private final AlertByIdCache alertByIdCache;
+
+    @Value("${app.read-model.retention.min-age-ms:7776000000}")
+    private long minAgeMs; // Default 90 days after closing or deletion
+
+    @Scheduled(initialDelayString = "${app.read-model.retention.interval-ms:3600000}",
+            fixedDelayString = "${app.read-model.retention.interval-ms:3600000}")
+    public void applyRetention() {
+        String cutoff = Instant.now().minus(Duration.ofMillis(minAgeMs)).toString();
+        Query expired = Query.of(q -> q.bool(b -> b
+                .should(terminatedBefore(AlertStatus.CLOSED, "closedAt", cutoff))
+                .should(terminatedBefore(AlertStatus.DELETED, "deletedAt", cutoff))
+                .minimumShouldMatch("1")));
+        try {
+            long deleted = 0;
+            long deletedNotes = 0;
+            while (true) {
+                List<String> alertIds = client.search(s -> s
+                                .index(AlertIndices.READ_ALIAS)
+                                .query(expired)
+                                .source(src -> src.fetch(false))
+                                .size(BATCH_SIZE), Void.class)
+                        .hits().hits().stream().map(Hit::id).toList();
+                if (alertIds.isEmpty()) {
+                    break;
+                }
+                List<FieldValue> ids = alertIds.stream().map(FieldValue::of).toList();
+                Long notes = client.deleteByQuery(d -> d
+                        .index(AlertNoteDocument.INDEX_NAME)
+                        .ignoreUnavailable(true)
+                        .query(q -> q.terms(t -> t.field("alertId").terms(v -> v.value(ids))))
+                        .conflicts(Conflicts.Proceed)).deleted();
+                Long alerts = client.deleteByQuery(d -> d
+                        .index(AlertIndices.READ_ALIAS)
+                        .query(q -> q.bool(b -> b.filter(expired).filter(f -> f.ids(i -> i.values(alertIds)))))
+                        .conflicts(Conflicts.Proceed) // A concurrent projection update wins; retried next run
+                        .refresh(true)).deleted();
+                deletedNotes += notes != null ? notes : 0;
+                if (alerts == null || alerts == 0) {
+                    break; // Only conflicting alerts left in this batch; leave them to the next run
+                }
+                deleted += alerts;
+            }
+            if (deleted > 0) {
+                alertByIdCache.invalidateAll();
+                log.info("Retention removed {} alerts terminated before {} and {} of their notes from the read model.",
+                        deleted, cutoff, deletedNotes);
+            }
+            dropEmptyPastIndices();
+        } catch (Exception e) {
+            log.error("Read model retention run failed: {}", e.getMessage(), e);
+        }
+    }
+
+    private void dropEmptyPastIndices() throws IOException {
+        Instant currentPeriod = alertIndices.periodStart(alertIndices.currentIndex()).orElseThrow();
+        List<IndicesRecord> records = client.cat().indices(c -> c.index(AlertIndices.INDEX_PATTERN)).valueBody();
+        List<String> empty = records.stream()
+                .filter(r -> "0".equals(r.docsCount()))
+                .map(IndicesRecord::index)
+                .filter(name -> name != null && alertIndices.periodStart(name)
+                        .map(start -> start.isBefore(currentPeriod))
+                        .orElse(false))
+                .toList();
+        alertIndexManager.deleteIndices(empty);
+    }
+
+    private static Query terminatedBefore(AlertStatus status, String timestampField, String cutoff) {
+        return Query.of(q -> q.bool(b -> b
+                .filter(f -> f.term(t -> t.field("status").value(status.name())))
+                .filter(f -> f.range(r -> r.field(timestampField).lt(JsonData.of(cutoff))))));
+    }
+}
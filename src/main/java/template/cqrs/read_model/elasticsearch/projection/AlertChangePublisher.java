@@ -0,0 +1,179 @@
+package template.cqrs.read_model.elasticsearch.projection;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.queryhandling.QueryUpdateEmitter;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.MultiGetItem;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.FindAlertByIdQuery;
+import template.cqrs.application.query.alert.FindAlertsByFilterQuery;
+import template.cqrs.domain.model.alert.dto.AlertChangeDto;
+import template.cqrs.read_model.elasticsearch.document.AlertDocument;
+import template.cqrs.read_model.elasticsearch.document.AlertDocumentMapper;
+import template.cqrs.read_model.elasticsearch.index.AlertIndexLocator;
+import template.cqrs.read_model.elasticsearch.search.AlertCriteriaMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Pushes read-model changes to subscription queries once they are visible in Elasticsearch.
+ * <p>
+ * Called by {@link AlertReadModelProjection} after each write. Per flush, the changed alerts are read back with a
+ * multi-get per period index (only when there are active subscriptions) and every subscriber is then served from memory:
+ * {@link FindAlertByIdQuery} subscribers get the delta of their alert, {@link FindAlertsByFilterQuery} subscribers
+ * get it if the alert matches their filter (evaluated by {@link AlertCriteriaMatcher}, keyword excluded), plus a
+ * {@code LEFT_FILTER} notice when a change moved it out. Telling a change that moved an alert out of a filter from
+ * one that never concerned it needs the previous state, which {@link #previousStates} reads before the flush for
+ * updates touching {@link AlertCriteriaMatcher#FILTER_FIELDS}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertChangePublisher {
+
+    private final QueryUpdateEmitter queryUpdateEmitter;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final AlertIndexLocator alertIndexLocator;
+
+    public void publishCreated(AlertDocument document) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        try {
+            emit(document, null, null);
+        } catch (Exception e) {
+            log.warn("Failed to publish creation of alert {} to subscribers: {}", document.getAlertId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the current documents of the alerts whose updates touch filter fields, to be called with the located
+     * updates right before they are written. Empty when nobody subscribes.
+     */
+    public Map<String, AlertDocument> previousStates(List<UpdateQuery> updates) {
+        if (!hasSubscribers()) {
+            return Map.of();
+        }
+        Map<String, List<String>> idsByIndex = new LinkedHashMap<>();
+        for (UpdateQuery update : updates) {
+            Document document = update.getDocument();
+            if (document != null && update.getIndex() != null
+                    && document.keySet().stream().anyMatch(AlertCriteriaMatcher.FILTER_FIELDS::contains)) {
+                idsByIndex.computeIfAbsent(update.getIndex(), i -> new ArrayList<>()).add(update.getId());
+            }
+        }
+        Map<String, AlertDocument> previous = new HashMap<>();
+        try {
+            for (Map.Entry<String, List<String>> entry : idsByIndex.entrySet()) {
+                elasticsearchOperations.multiGet(NativeQuery.builder().withIds(entry.getValue()).build(),
+                                AlertDocument.class, IndexCoordinates.of(entry.getKey())).stream()
+                        .filter(MultiGetItem::hasItem)
+                        .map(MultiGetItem::getItem)
+                        .forEach(doc -> previous.put(doc.getAlertId(), doc));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to read previous state of {} alerts; no LEFT_FILTER notices for them: {}",
+                    idsByIndex.values().stream().mapToInt(List::size).sum(), e.getMessage());
+        }
+        return previous;
+    }
+
+    /**
+     * @param previous the result of {@link #previousStates} for these updates
+     */
+    public void publishUpdates(List<UpdateQuery> updates, Map<String, AlertDocument> previous) {
+        if (!hasSubscribers()) {
+            return;
+        }
+        // Several updates of one alert in a flush become a single delta, later values winning
+        Map<String, Map<String, Object>> changesById = new LinkedHashMap<>();
+        // Scripted updates (notes) carry no partial document, their delta is read from the stored alert instead
+        Set<String> scriptedIds = new HashSet<>();
+        for (UpdateQuery update : updates) {
+            Document document = update.getDocument();
+            Map<String, Object> changes = changesById.computeIfAbsent(update.getId(), id -> new LinkedHashMap<>());
+            if (document != null) {
+                changes.putAll(document);
+            } else if (update.getScript() != null) {
+                scriptedIds.add(update.getId());
+            }
+        }
+        if (changesById.isEmpty()) {
+            return;
+        }
+        try {
+            // Real-time multi-get per period index: the flushed updates are not searchable before the next refresh
+            Map<String, List<String>> idsByIndex = new LinkedHashMap<>();
+            alertIndexLocator.locate(changesById.keySet())
+                    .forEach((id, indexName) -> idsByIndex.computeIfAbsent(indexName, i -> new ArrayList<>()).add(id));
+            for (Map.Entry<String, List<String>> entry : idsByIndex.entrySet()) {
+                List<MultiGetItem<AlertDocument>> items = elasticsearchOperations.multiGet(
+                        NativeQuery.builder().withIds(entry.getValue()).build(), AlertDocument.class,
+                        IndexCoordinates.of(entry.getKey()));
+                for (MultiGetItem<AlertDocument> item : items) {
+                    if (item.hasItem()) {
+                        AlertDocument doc = item.getItem();
+                        Map<String, Object> changes = changesById.get(doc.getAlertId());
+                        if (scriptedIds.contains(doc.getAlertId())) {
+                            changes.put("noteCount", doc.getNoteCount());
+                            changes.put("latestNote", doc.getLatestNote());
+                            changes.put("updatedAt", doc.getUpdatedAt());
+                        }
+                        emit(doc, changes, previous.get(doc.getAlertId()));
+                    }
+                }
+            }
+            log.debug("Published changes of {} alerts to {} subscriptions.", changesById.size(),
+                    queryUpdateEmitter.activeSubscriptions().size());
+        } catch (Exception e) {
+            log.warn("Failed to publish {} alert changes to subscribers: {}", changesById.size(), e.getMessage());
+        }
+    }
+
+    private boolean hasSubscribers() {
+        return !queryUpdateEmitter.activeSubscriptions().isEmpty();
+    }
+
+    private void emit(AlertDocument doc, Map<String, Object> changes, AlertDocument previous) {
+        UUID alertId = UUID.fromString(doc.getAlertId());
+        boolean created = changes == null;
+        boolean mayChangeMembership = created
+                || changes.keySet().stream().anyMatch(AlertCriteriaMatcher.FILTER_FIELDS::contains);
+
+        AlertChangeDto change = AlertChangeDto.builder()
+                .alertId(alertId)
+                .type(AlertChangeDto.Type.CHANGED)
+                .changes(changes)
+                .alert(created ? AlertDocumentMapper.toSummaryDto(doc) : null)
+                .build();
+        queryUpdateEmitter.emit(FindAlertByIdQuery.class, query -> alertId.equals(query.getAlertId()), change);
+
+        AlertChangeDto listChange = mayChangeMembership
+                ? change.toBuilder().alert(AlertDocumentMapper.toSummaryDto(doc)).build()
+                : change;
+        queryUpdateEmitter.emit(FindAlertsByFilterQuery.class,
+                query -> AlertCriteriaMatcher.matches(query.getCriteria(), doc), listChange);
+        if (mayChangeMembership && previous != null) {
+            AlertChangeDto left = AlertChangeDto.builder()
+                    .alertId(alertId)
+                    .type(AlertChangeDto.Type.LEFT_FILTER)
+                    .build();
+            // Only subscribers whose filter the alert matched before this change
+            queryUpdateEmitter.emit(FindAlertsByFilterQuery.class,
+                    query -> AlertCriteriaMatcher.matches(query.getCriteria(), previous)
+                            && !AlertCriteriaMatcher.matches(query.getCriteria(), doc), left);
+        }
+    }
+}
@@ -17,17 +17,27 @@ import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import template.cqrs.domain.model.alert.events.*;
 import template.cqrs.domain.model.alert.value_objects.AlertNoteDto;
+import template.cqrs.read_model.elasticsearch.cache.AlertByIdCache;
+import template.cqrs.read_model.elasticsearch.document.AlertDetailFields;
 import template.cqrs.read_model.elasticsearch.document.AlertDocument;
-import template.cqrs.read_model.elasticsearch.repository.AlertDocumentRepository;
+import template.cqrs.read_model.elasticsearch.document.AlertNoteDocument;
+import template.cqrs.read_model.elasticsearch.index.AlertIndexLocator;
+import template.cqrs.read_model.elasticsearch.index.AlertIndexManager;
+import template.cqrs.read_model.elasticsearch.index.AlertIndices;
+import template.cqrs.read_model.elasticsearch.repository.AlertNoteDocumentRepository;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Component
 @RequiredArgsConstructor
@@ -35,8 +45,14 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class AlertReadModelProjection {
 
-    private final AlertDocumentRepository repository;
     private final ElasticsearchOperations elasticsearchOperations;
+    private final AlertIndices alertIndices;
+    private final AlertIndexLocator alertIndexLocator;
+    private final AlertIndexManager alertIndexManager;
+    private final AlertDetailFields alertDetailFields;
+    private final AlertNoteDocumentRepository noteRepository;
+    private final AlertByIdCache alertByIdCache;
+    private final AlertChangePublisher alertChangePublisher;
 
     @Value("${app.projection.batch.size:100}")
     private int batchSize;
@@ -44,18 +60,46 @@ public class AlertReadModelProjection {
     @Value("${app.projection.batch.timeout-ms:120000}")
     private long batchTimeoutMs;
 
+    @Value("${app.projection.batch.locate-attempts:5}")
+    private int locateAttempts; // Flushes an update waits for its alert document before it is given up
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
     // bulkUpdateQueue should store UpdateQuery if that's what you're adding.
     // Or more generally, org.springframework.data.elasticsearch.core.query.Query
     // For simplicity and type safety with bulkUpdate, let's make it List<UpdateQuery>
     private final List<UpdateQuery> bulkUpdateQueue = new ArrayList<>();
+    private final ReentrantLock queueLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Updates whose alert was not found yet, by identity; only touched while holding flushLock
+    private final Map<UpdateQuery, Integer> unlocatedAttempts = new IdentityHashMap<>();
     private ScheduledExecutorService scheduler;
     private volatile long lastFlushTimeMs;
 
-    private static final String ALERTS_INDEX_NAME = "alerts";
+    // Counts a note and makes it the latest one, unless the alert already has this note or a newer one
+    // (redelivered events, replays), which keeps the count exact without reading the alert first
+    private static final String NOTE_ADDED_SCRIPT = """
+            def last = ctx._source.latestNoteEpochMillis;
+            boolean seen = last != null && (params.noteAt < last
+                    || (params.noteAt == last && ctx._source.latestNote != null
+                        && params.note.noteId.equals(ctx._source.latestNote.noteId)));
+            if (seen) {
+                ctx.op = 'noop';
+            } else {
+                ctx._source.noteCount = (ctx._source.noteCount == null ? 0 : ctx._source.noteCount) + 1;
+                ctx._source.latestNote = params.note;
+                ctx._source.latestNoteEpochMillis = params.noteAt;
+                ctx._source.updatedAt = params.updatedAt;
+            }
+            """;
 
     @PostConstruct
     public void init() {
-        scheduler = Executors.newSingleThreadScheduledExecutor();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("alert-projection-flush").factory()
+                : Thread.ofPlatform().name("alert-projection-flush").factory();
+        scheduler = Executors.newSingleThreadScheduledExecutor(threadFactory);
         lastFlushTimeMs = System.currentTimeMillis();
         // Check for timeout more frequently than the timeout itself to avoid drift
         long checkInterval = Math.min(batchTimeoutMs / 2, 5000); // e.g., every 5s or half timeout
@@ -82,46 +126,87 @@ public class AlertReadModelProjection {
     }
 
     private void addToBulkQueue(UpdateQuery updateQuery) {
-        synchronized (bulkUpdateQueue) {
+        boolean batchFull;
+        queueLock.lock();
+        try {
             bulkUpdateQueue.add(updateQuery); // Add UpdateQuery directly
-            if (bulkUpdateQueue.size() >= batchSize) {
-                log.debug("Batch size reached ({}). Flushing updates.", bulkUpdateQueue.size());
-                flushUpdates();
-            }
+            batchFull = bulkUpdateQueue.size() >= batchSize;
+        } finally {
+            queueLock.unlock();
+        }
+        if (batchFull) {
+            log.debug("Batch size reached ({}). Flushing updates.", batchSize);
+            flushUpdates();
         }
     }
 
     private void timedFlush() {
-        synchronized (bulkUpdateQueue) {
-            if (!bulkUpdateQueue.isEmpty() && (System.currentTimeMillis() - lastFlushTimeMs >= batchTimeoutMs)) {
-                log.info("Batch timeout reached ({}ms). Flushing {} updates.", batchTimeoutMs, bulkUpdateQueue.size());
-                flushUpdates();
-            }
+        boolean timedOut;
+        queueLock.lock();
+        try {
+            timedOut = !bulkUpdateQueue.isEmpty() && (System.currentTimeMillis() - lastFlushTimeMs >= batchTimeoutMs);
+        } finally {
+            queueLock.unlock();
+        }
+        if (timedOut) {
+            log.info("Batch timeout reached ({}ms). Flushing pending updates.", batchTimeoutMs);
+            flushUpdates();
         }
     }
 
+    /**
+     * Sends the queued updates as one bulk request. {@code flushLock} keeps flushes in order, while
+     * {@code queueLock} is only held to swap the queue, so event handlers keep queueing during the request.
+     * Both are {@link ReentrantLock}s rather than monitors: a virtual thread blocked inside {@code synchronized}
+     * would pin its carrier thread for the whole Elasticsearch round trip.
+     */
     private void flushUpdates() {
+        flushLock.lock();
+        try {
+            doFlushUpdates();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void doFlushUpdates() {
         List<UpdateQuery> toProcess;
-        synchronized (bulkUpdateQueue) {
+        queueLock.lock();
+        try {
             if (bulkUpdateQueue.isEmpty()) {
                 return;
             }
             toProcess = new ArrayList<>(bulkUpdateQueue);
             bulkUpdateQueue.clear();
             lastFlushTimeMs = System.currentTimeMillis(); // Reset timer after clearing queue
+        } finally {
+            queueLock.unlock();
         }
 
         if (!toProcess.isEmpty()) {
             try {
-                elasticsearchOperations.bulkUpdate(toProcess, IndexCoordinates.of(ALERTS_INDEX_NAME));
+                toProcess = withIndices(toProcess);
+                if (toProcess.isEmpty()) {
+                    return;
+                }
+                Map<String, AlertDocument> previous = alertChangePublisher.previousStates(toProcess);
+                // Every query names its period index; the coordinates are only the bulk request's default
+                elasticsearchOperations.bulkUpdate(toProcess, IndexCoordinates.of(alertIndices.currentIndex()));
                 log.info("Successfully flushed {} updates to Elasticsearch.", toProcess.size());
+                alertByIdCache.invalidateAll(toProcess.stream().map(UpdateQuery::getId).toList());
+                alertChangePublisher.publishUpdates(toProcess, previous);
             } catch (Exception e) {
                 log.error("Error flushing batch updates to Elasticsearch. Updates count: {}. Error: {}", toProcess.size(), e.getMessage(), e);
                 // Implement more robust error handling: e.g., re-queue, DLQ, specific exception handling
                 // For example, re-queueing (be careful with potential infinite loops for non-transient errors):
-                // synchronized (bulkUpdateQueue) {
+                // queueLock.lock();
+                // try {
                 //     bulkUpdateQueue.addAll(0, toProcess); // Add back to the front for next attempt
+                // } finally {
+                //     queueLock.unlock();
                 // }
+                // Some items of a failed bulk request may still have been applied
+                alertByIdCache.invalidateAll(toProcess.stream().map(UpdateQuery::getId).toList());
             }
         }
     }
@@ -136,21 +221,97 @@ public class AlertReadModelProjection {
                 .description(event.getDescription())
                 .source(event.getSource())
                 .details(event.getDetails())
+                .hotDetails(alertDetailFields.hotValues(event.getDetails()))
                 .status(event.getInitialStatus())
                 .createdAt(event.getCreatedAt())
                 .eventTimestamp(event.getEventTimestamp())
                 .updatedAt(event.getCreatedAt())
                 .initiatedBy(event.getInitiatedBy())
-                .notes(new ArrayList<>())
+                .noteCount(0)
                 .build();
         try {
-            repository.save(document);
+            String indexName = alertIndices.indexFor(event.getCreatedAt());
+            elasticsearchOperations.save(document, IndexCoordinates.of(indexName));
+            alertIndexLocator.remember(document.getAlertId(), indexName);
+            alertByIdCache.invalidate(document.getAlertId()); // Drop a cached pre-replay version, if any
+            alertChangePublisher.publishCreated(document);
             log.info("Alert document {} created in Elasticsearch.", event.getAlertId());
         } catch (Exception e) {
             log.error("Error saving new AlertDocument {} to Elasticsearch: {}", event.getAlertId(), e.getMessage(), e);
         }
     }
 
+    /**
+     * Rebuilds an archived alert from its restored state, replacing whatever the index holds for it. The archival
+     * appends this event when it moves a terminal alert's events to cold storage, so it is seen live as well as on
+     * every replay; live, it carries the state the index already holds, so the rewrite changes nothing.
+     */
+    @EventHandler
+    public void on(AlertStateRestoredEvent event) {
+        log.debug("Projecting AlertStateRestoredEvent: {}", event.getAlertId());
+        String alertId = event.getAlertId().toString();
+        List<AlertNoteDto> notes = event.getNotes() != null ? event.getNotes() : List.of();
+        AlertNoteDto latestNote = notes.stream()
+                .max(Comparator.comparing(AlertNoteDto::getTimestamp))
+                .orElse(null);
+        AlertDocument document = AlertDocument.builder()
+                .alertId(alertId)
+                .severity(event.getSeverity())
+                .description(event.getDescription())
+                .source(event.getSource())
+                .details(event.getDetails())
+                .hotDetails(alertDetailFields.hotValues(event.getDetails()))
+                .status(event.getStatus())
+                .createdAt(event.getCreatedAt())
+                .updatedAt(event.getUpdatedAt())
+                .eventTimestamp(event.getEventTimestamp())
+                .initiatedBy(event.getInitiatedBy())
+                .updatedBy(event.getUpdatedBy())
+                .acknowledgedAt(event.getAcknowledgedAt())
+                .acknowledgedBy(event.getAcknowledgedBy())
+                .acknowledgementNotes(event.getAcknowledgementNotes())
+                .resolvedAt(event.getResolvedAt())
+                .resolvedBy(event.getResolvedBy())
+                .resolutionDetails(event.getResolutionDetails())
+                .closedAt(event.getClosedAt())
+                .closedBy(event.getClosedBy())
+                .closingReason(event.getClosingReason())
+                .assignee(event.getAssignee())
+                .assignedAt(event.getAssignedAt())
+                .assignedBy(event.getAssignedBy())
+                .noteCount(notes.size())
+                .latestNote(latestNote)
+                .latestNoteEpochMillis(latestNote != null ? latestNote.getTimestamp().toEpochMilli() : null)
+                .deletedBy(event.getDeletedBy())
+                .deletedAt(event.getDeletedAt())
+                .deletionReason(event.getDeletionReason())
+                .build();
+        if (hasQueuedUpdate(alertId)) {
+            flushUpdates(); // Older partial updates must not land on top of the restored state
+        }
+        try {
+            String indexName = alertIndices.indexFor(event.getCreatedAt());
+            elasticsearchOperations.save(document, IndexCoordinates.of(indexName));
+            alertIndexLocator.remember(alertId, indexName);
+            if (!notes.isEmpty()) {
+                noteRepository.saveAll(notes.stream().map(note -> AlertNoteDocument.of(alertId, note)).toList());
+            }
+            alertByIdCache.invalidate(alertId);
+            log.info("Alert document {} restored in Elasticsearch from its archived state.", alertId);
+        } catch (Exception e) {
+            log.error("Error restoring AlertDocument {} in Elasticsearch: {}", alertId, e.getMessage(), e);
+        }
+    }
+
+    private boolean hasQueuedUpdate(String alertId) {
+        queueLock.lock();
+        try {
+            return bulkUpdateQueue.stream().anyMatch(update -> alertId.equals(update.getId()));
+        } finally {
+            queueLock.unlock();
+        }
+    }
+
     private UpdateQuery createUpdateQuery(String alertId, Map<String, Object> updates) {
         Document updateDocument = Document.from(updates);
         return UpdateQuery.builder(alertId)
@@ -160,8 +321,50 @@ public class AlertReadModelProjection {
                 .build();
     }
 
-    private List<AlertNoteDto> getNotesFromDocument(AlertDocument doc) {
-        return doc.getNotes() == null ? new ArrayList<>() : new ArrayList<>(doc.getNotes());
+    /**
+     * Points every update at the period index of its alert. Updates of alerts not found in any index go back to
+     * the front of the queue for the next flush, as the bulk request would reject them; an update still unlocated
+     * after {@code app.projection.batch.locate-attempts} flushes is given up and logged as an error.
+     */
+    private List<UpdateQuery> withIndices(List<UpdateQuery> updates) {
+        Map<String, String> indexById = alertIndexLocator.locate(updates.stream().map(UpdateQuery::getId).toList());
+        List<UpdateQuery> located = new ArrayList<>(updates.size());
+        List<UpdateQuery> retry = new ArrayList<>();
+        for (UpdateQuery update : updates) {
+            String indexName = indexById.get(update.getId());
+            if (indexName == null) {
+                int attempts = unlocatedAttempts.merge(update, 1, Integer::sum);
+                if (attempts < locateAttempts) {
+                    log.warn("No alert index holds alert {} yet (attempt {}); retrying its update on the next flush.",
+                            update.getId(), attempts);
+                    retry.add(update);
+                } else {
+                    unlocatedAttempts.remove(update);
+                    log.error("No alert index holds alert {} after {} attempts; giving up its update: {}",
+                            update.getId(), attempts, update.getDocument() != null ? update.getDocument() : update.getParams());
+                }
+                continue;
+            }
+            unlocatedAttempts.remove(update);
+            UpdateQuery.Builder builder = UpdateQuery.builder(update.getId())
+                    .withRetryOnConflict(3)
+                    .withIndex(indexName);
+            if (update.getScript() != null) {
+                builder.withScript(update.getScript()).withLang(update.getLang()).withParams(update.getParams());
+            } else {
+                builder.withDocument(update.getDocument()).withDocAsUpsert(false);
+            }
+            located.add(builder.build());
+        }
+        if (!retry.isEmpty()) {
+            queueLock.lock();
+            try {
+                bulkUpdateQueue.addAll(0, retry); // Ahead of later updates of the same alerts
+            } finally {
+                queueLock.unlock();
+            }
+        }
+        return located;
     }
 
     @EventHandler
@@ -171,6 +374,7 @@ public class AlertReadModelProjection {
                 "severity", event.getSeverity(),
                 "description", event.getDescription(),
                 "details", event.getDetails(),
+                "hotDetails", alertDetailFields.hotValues(event.getDetails()),
                 "updatedAt", event.getUpdatedAt(),
                 "updatedBy", event.getUpdatedBy()
         );
@@ -219,20 +423,29 @@ public class AlertReadModelProjection {
     @EventHandler
     public void on(NoteAddedToAlertEvent event) {
         log.debug("Projecting NoteAddedToAlertEvent for alert: {}", event.getAlertId());
-        Optional<AlertDocument> existingDocOpt = repository.findById(event.getAlertId().toString());
-        if (existingDocOpt.isPresent()) {
-            AlertDocument doc = existingDocOpt.get();
-            List<AlertNoteDto> notes = getNotesFromDocument(doc); // Ensures notes list is mutable
-            notes.add(event.getNote());
-
-            Map<String, Object> updates = Map.of(
-                    "notes", notes, // Use the updated list
-                    "updatedAt", event.getNote().getTimestamp()
-            );
-            addToBulkQueue(createUpdateQuery(event.getAlertId().toString(), updates));
-        } else {
-            log.warn("AlertDocument not found for NoteAddedToAlertEvent, alertId: {}. Note will not be added to projection.", event.getAlertId());
+        String alertId = event.getAlertId().toString();
+        AlertNoteDto note = event.getNote();
+        try {
+            noteRepository.save(AlertNoteDocument.of(alertId, note));
+        } catch (Exception e) {
+            log.error("Error saving note {} of alert {} to Elasticsearch: {}", note.getNoteId(), alertId, e.getMessage(), e);
+            return;
         }
+        Map<String, Object> latestNote = new HashMap<>();
+        latestNote.put("noteId", note.getNoteId().toString());
+        latestNote.put("text", note.getText());
+        latestNote.put("author", note.getAuthor());
+        latestNote.put("timestamp", note.getTimestamp().toString());
+        UpdateQuery update = UpdateQuery.builder(alertId)
+                .withScript(NOTE_ADDED_SCRIPT)
+                .withLang("painless")
+                .withParams(Map.of(
+                        "note", latestNote,
+                        "noteAt", note.getTimestamp().toEpochMilli(),
+                        "updatedAt", note.getTimestamp().toString()))
+                .withRetryOnConflict(3)
+                .build();
+        addToBulkQueue(update);
     }
 
     @EventHandler
@@ -262,17 +475,12 @@ public class AlertReadModelProjection {
 
     @ResetHandler
     public void onReset() {
-        log.info("Resetting AlertReadModel. Clearing Elasticsearch index: {}", ALERTS_INDEX_NAME);
-        IndexCoordinates indexCoordinates = IndexCoordinates.of(ALERTS_INDEX_NAME);
-        if (elasticsearchOperations.indexOps(indexCoordinates).exists()) {
-            log.warn("Deleting existing Elasticsearch index: {}", ALERTS_INDEX_NAME);
-            elasticsearchOperations.indexOps(indexCoordinates).delete();
-        }
-        log.info("Creating Elasticsearch index: {} with mappings for AlertDocument.", ALERTS_INDEX_NAME);
-        elasticsearchOperations.indexOps(indexCoordinates).create();
-        // Ensure mapping is applied. This might also be handled by Spring Data Elasticsearch automatically
-        // based on @Document annotation if index doesn't exist or if auto-create/update is enabled.
-        elasticsearchOperations.indexOps(indexCoordinates).putMapping(AlertDocument.class);
-        log.info("Elasticsearch index {} reset and mapping applied.", ALERTS_INDEX_NAME);
+        log.info("Resetting AlertReadModel. Recreating Elasticsearch indices {}", AlertIndices.INDEX_PATTERN);
+        // Drops every period index (and the legacy single index) and the notes index, re-applies the template
+        // with the AlertDocument mapping and creates the current period index and an empty notes index
+        alertIndexManager.recreate();
+        alertIndexLocator.clear();
+        alertByIdCache.invalidateAll();
+        log.info("Elasticsearch indices {} and alert-notes reset and template applied.", AlertIndices.INDEX_PATTERN);
     }
 }
@@ -0,0 +1,9 @@
+package template.cqrs.read_model.elasticsearch.repository;
+
+import org.springframework.data.elasticsearch.repository.ElasticsearchRepository;
+import org.springframework.stereotype.Repository;
+import template.cqrs.read_model.elasticsearch.document.AlertNoteDocument;
+
+@Repository
+public interface AlertNoteDocumentRepository extends ElasticsearchRepository<AlertNoteDocument, String> {
+}
@@ -0,0 +1,67 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+import template.cqrs.domain.model.alert.value_objects.AlertDetails;
+import template.cqrs.read_model.elasticsearch.document.AlertDetailFields;
+import template.cqrs.read_model.elasticsearch.document.AlertDocument;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory evaluation of the structured part of {@link AlertSearchCriteria}, mirroring the filter clauses of
+ * {@link AlertSearchQueries#toQuery}. The keyword is not evaluated: relevance matching needs the analyzers of the
+ * index, so keyword filters are treated as matching.
+ */
+public final class AlertCriteriaMatcher {
+
+    /** Document fields whose change can move an alert in or out of a filter. */
+    public static final Set<String> FILTER_FIELDS = Set.of("status", "severity", "assignee", "source", "createdAt", "details");
+
+    private AlertCriteriaMatcher() {
+    }
+
+    public static boolean matches(AlertSearchCriteria criteria, AlertDocument doc) {
+        if (criteria == null) {
+            return true;
+        }
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()
+                && !criteria.getStatuses().contains(doc.getStatus())) {
+            return false;
+        }
+        if (criteria.getSeverities() != null && !criteria.getSeverities().isEmpty()
+                && !criteria.getSeverities().contains(doc.getSeverity())) {
+            return false;
+        }
+        if (hasText(criteria.getAssignee()) && !Objects.equals(criteria.getAssignee(), doc.getAssignee())) {
+            return false;
+        }
+        if (hasText(criteria.getSource()) && !Objects.equals(criteria.getSource(), doc.getSource())) {
+            return false;
+        }
+        if (criteria.getCreatedFrom() != null
+                && (doc.getCreatedAt() == null || doc.getCreatedAt().isBefore(criteria.getCreatedFrom()))) {
+            return false;
+        }
+        if (criteria.getCreatedTo() != null
+                && (doc.getCreatedAt() == null || doc.getCreatedAt().isAfter(criteria.getCreatedTo()))) {
+            return false;
+        }
+        return matchesDetails(criteria.getDetails(), doc.getDetails());
+    }
+
+    public static boolean matchesDetails(Map<String, String> filters, AlertDetails details) {
+        if (filters == null) {
+            return true;
+        }
+        return filters.entrySet().stream()
+                .allMatch(filter -> AlertDetailFields.value(details, filter.getKey())
+                        .map(filter.getValue()::equals)
+                        .orElse(false));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
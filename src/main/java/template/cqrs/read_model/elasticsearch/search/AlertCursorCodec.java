@@ -0,0 +1,88 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.json.stream.JsonGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Encodes {@link AlertSearchCursor}s as opaque, URL-safe strings and back.
+ * <p>
+ * A cursor carries a hash of the query, sort and field selection it was issued for. Decoding it for a request
+ * with a different hash fails like a malformed cursor, so a cursor cannot be replayed against another search.
+ * Checkpoints are cursors without a point-in-time id.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertCursorCodec {
+
+    private static final JsonpMapper QUERY_MAPPER = new JacksonJsonpMapper();
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Hashes what a cursor is bound to: the Elasticsearch query, the sort and the selected fields.
+     */
+    public String queryHash(Query query, Sort sort, List<String> fields) {
+        String state = json(query) + '|' + sort + '|' + Objects.toString(fields, "");
+        return DigestUtils.md5DigestAsHex(state.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public String encode(AlertSearchCursor cursor) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(cursor);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode search cursor", e);
+        }
+    }
+
+    /**
+     * @param queryHash the {@link #queryHash} of the request the cursor is presented with
+     * @throws IllegalArgumentException if the cursor is malformed or was issued for another query, sort or field selection
+     */
+    public AlertSearchCursor decode(String encoded, String queryHash) {
+        AlertSearchCursor cursor;
+        try {
+            byte[] json = Base64.getUrlDecoder().decode(encoded);
+            cursor = objectMapper.readValue(json, AlertSearchCursor.class);
+            if (cursor.getSearchAfter() == null) {
+                throw new IllegalArgumentException("Incomplete search cursor");
+            }
+            // JSON numbers come back as Integer when small; Elasticsearch sort values are longs
+            cursor.setSearchAfter(normalize(cursor.getSearchAfter()));
+        } catch (IllegalArgumentException | java.io.IOException e) {
+            throw new IllegalArgumentException("Invalid search cursor: " + encoded, e);
+        }
+        if (!Objects.equals(queryHash, cursor.getQueryHash())) {
+            throw new IllegalArgumentException("Search cursor was issued for a different query, sort or field selection");
+        }
+        return cursor;
+    }
+
+    private static String json(Query query) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = QUERY_MAPPER.jsonProvider().createGenerator(writer)) {
+            query.serialize(generator, QUERY_MAPPER);
+        }
+        return writer.toString();
+    }
+
+    private static List<Object> normalize(List<Object> values) {
+        return values.stream()
+                .map(value -> value instanceof Integer i ? (Object) i.longValue() : value)
+                .toList();
+    }
+}
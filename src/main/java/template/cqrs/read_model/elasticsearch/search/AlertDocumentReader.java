@@ -0,0 +1,30 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.elasticsearch.core.convert.ElasticsearchConverter;
+import org.springframework.data.elasticsearch.core.document.Document;
+import org.springframework.stereotype.Component;
+import template.cqrs.read_model.elasticsearch.document.AlertDocument;
+
+import java.util.Map;
+
+/**
+ * Maps raw {@code _source} maps returned by the Elasticsearch Java client onto {@link AlertDocument}s (or other
+ * read-model documents), using the same Spring Data converter (field types, date formats, value objects) as the repository.
+ */
+@Component
+@RequiredArgsConstructor
+public class AlertDocumentReader {
+
+    private final ElasticsearchConverter elasticsearchConverter;
+
+    public AlertDocument read(String id, Map<String, Object> source) {
+        return read(AlertDocument.class, id, source);
+    }
+
+    public <T> T read(Class<T> type, String id, Map<String, Object> source) {
+        Document document = Document.from(source);
+        document.setId(id);
+        return elasticsearchConverter.read(type, document);
+    }
+}
@@ -0,0 +1,21 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Position of a cursor-paginated alert search: the Elasticsearch point-in-time the pages are read from, the
+ * sort values of the last hit returned and the hash of the query the cursor belongs to. Handed to clients only in
+ * its encoded, opaque form.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertSearchCursor {
+    private String pointInTimeId;
+    private List<Object> searchAfter;
+    private String queryHash;
+}
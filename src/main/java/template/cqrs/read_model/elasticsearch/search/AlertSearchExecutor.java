@@ -0,0 +1,222 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.AlertCursorExpiredException;
+import template.cqrs.read_model.elasticsearch.document.AlertDocument;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Runs alert list searches against the given alert indices with either offset or cursor pagination.
+ * <p>
+ * Offset paging ({@code cursor == null}) is the classic {@code from}/{@code size} request. Cursor paging opens a
+ * point-in-time over the indices on the first request ({@code cursor} is empty) and walks it with {@code search_after}; every page
+ * returns the cursor for the next one, and the point-in-time is closed once the last page has been read. Cursor
+ * pages cost the same at any depth and are not bounded by {@code index.max_result_window}. A cursor whose
+ * point-in-time has expired fails with {@link AlertCursorExpiredException}, one issued for a different query, sort
+ * or field selection with an {@link IllegalArgumentException}.
+ * <p>
+ * Cursor searches sort on {@code alertId} after the requested sort, so every hit has unique sort values. Each
+ * page therefore also returns a checkpoint: the next cursor without its point-in-time. A checkpoint passed back as
+ * cursor opens a new point-in-time and continues after the last returned hit, however long ago it was issued.
+ * Alerts indexed or changed in between may show up in or drop out of the remaining pages.
+ * <p>
+ * With {@code trackTotalHits == false} Elasticsearch stops counting matches once the page is filled, and the
+ * returned page reports a total of {@code -1}. A field list limits the fetched {@code _source} to those fields.
+ * <p>
+ * All requests go through the {@link ElasticsearchAsyncClient}; no thread waits for Elasticsearch.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AlertSearchExecutor {
+
+    private static final String SEARCH_CONTEXT_MISSING = "search_context_missing_exception";
+    private static final String TIEBREAKER = "alertId";
+
+    private final ElasticsearchAsyncClient asyncClient;
+    private final AlertCursorCodec cursorCodec;
+    private final AlertDocumentReader documentReader;
+
+    @Value("${app.query.cursor.keep-alive-ms:60000}")
+    private long keepAliveMs; // How long a point-in-time stays open between two cursor requests
+
+    public CompletableFuture<AlertSearchPage> search(List<String> indices, Query query, Sort sort, int pageNumber, int pageSize,
+                                                     String cursor, boolean trackTotalHits, List<String> fields) {
+        if (cursor == null) {
+            return searchByOffset(indices, query, sort, pageNumber, pageSize, trackTotalHits, fields);
+        }
+        CompletableFuture<AlertSearchCursor> position;
+        try {
+            String queryHash = cursorCodec.queryHash(query, sort, fields);
+            AlertSearchCursor decoded = cursor.isBlank() ? null : cursorCodec.decode(cursor, queryHash);
+            position = decoded != null && decoded.getPointInTimeId() != null
+                    ? CompletableFuture.completedFuture(decoded)
+                    : asyncClient.openPointInTime(r -> r.index(indices).ignoreUnavailable(true).keepAlive(keepAlive()))
+                            .thenApply(response -> new AlertSearchCursor(response.id(), resumeAfter(decoded), queryHash));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return position.thenCompose(p -> searchByCursor(query, sort, pageSize, p, trackTotalHits, fields));
+    }
+
+    private CompletableFuture<AlertSearchPage> searchByOffset(List<String> indices, Query query, Sort sort, int pageNumber,
+                                                              int pageSize, boolean trackTotalHits, List<String> fields) {
+        SearchRequest request = baseRequest(query, sort, pageSize, trackTotalHits, fields)
+                .index(indices)
+                // Pruned index lists may name periods without alerts
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .from(pageNumber * pageSize)
+                .build();
+        return execute(request).thenApply(response -> {
+            List<AlertDocument> documents = documents(response);
+            long total = totalHits(response, trackTotalHits);
+            boolean last = total < 0
+                    ? documents.size() < pageSize
+                    : (long) (pageNumber + 1) * pageSize >= total;
+            return new AlertSearchPage(documents, pageNumber, pageSize, total, last, null, null);
+        });
+    }
+
+    private CompletableFuture<AlertSearchPage> searchByCursor(Query query, Sort sort, int pageSize, AlertSearchCursor position,
+                                                              boolean trackTotalHits, List<String> fields) {
+        // Elasticsearch adds the implicit _shard_doc tiebreaker when searching a point-in-time
+        Sort uniqueSort = sort.getOrderFor(TIEBREAKER) != null ? sort : sort.and(Sort.by(TIEBREAKER));
+        SearchRequest.Builder builder = baseRequest(query, uniqueSort, pageSize, trackTotalHits, fields)
+                .pit(p -> p.id(position.getPointInTimeId()).keepAlive(keepAlive()));
+        if (position.getSearchAfter() != null) {
+            builder.searchAfter(position.getSearchAfter().stream().map(AlertSearchExecutor::toFieldValue).toList());
+        }
+        return execute(builder.build()).exceptionally(e -> {
+            throw isSearchContextMissing(e) ? new AlertCursorExpiredException(e)
+                    : e instanceof CompletionException ce ? ce : new CompletionException(e);
+        }).thenApply(response -> {
+            // Elasticsearch may hand out a new id for the same point-in-time; always continue with the latest one
+            String pointInTimeId = response.pitId() != null ? response.pitId() : position.getPointInTimeId();
+            List<Hit<Map>> hits = response.hits().hits();
+            String nextCursor = null;
+            String checkpoint = null;
+            if (hits.size() == pageSize) {
+                List<Object> sortValues = hits.get(pageSize - 1).sort().stream().map(FieldValue::_get).toList();
+                nextCursor = cursorCodec.encode(new AlertSearchCursor(pointInTimeId, sortValues, position.getQueryHash()));
+                // The _shard_doc value is only meaningful within this point-in-time
+                checkpoint = cursorCodec.encode(new AlertSearchCursor(null,
+                        sortValues.subList(0, sortValues.size() - 1), position.getQueryHash()));
+            } else {
+                closePointInTime(pointInTimeId);
+            }
+            return new AlertSearchPage(documents(response), 0, pageSize, totalHits(response, trackTotalHits),
+                    nextCursor == null, nextCursor, checkpoint);
+        });
+    }
+
+    /**
+     * Sort values to continue a checkpoint from on a new point-in-time. The checkpoint's values identify its last hit
+     * uniquely, so the largest {@code _shard_doc} skips exactly that hit.
+     */
+    private static List<Object> resumeAfter(AlertSearchCursor checkpoint) {
+        if (checkpoint == null) {
+            return null;
+        }
+        List<Object> searchAfter = new ArrayList<>(checkpoint.getSearchAfter());
+        searchAfter.add(Long.MAX_VALUE);
+        return searchAfter;
+    }
+
+    private SearchRequest.Builder baseRequest(Query query, Sort sort, int pageSize, boolean trackTotalHits, List<String> fields) {
+        SearchRequest.Builder builder = new SearchRequest.Builder()
+                .query(query)
+                .size(pageSize)
+                .sort(sortOptions(sort))
+                .trackTotalHits(t -> t.enabled(trackTotalHits));
+        if (fields != null) {
+            // Restricts _source to the selected fields; without a list the whole document is fetched
+            builder.source(s -> s.filter(f -> f.includes(fields)));
+        }
+        return builder;
+    }
+
+    @SuppressWarnings("rawtypes")
+    private CompletableFuture<SearchResponse<Map>> execute(SearchRequest request) {
+        return asyncClient.search(request, Map.class);
+    }
+
+    private static boolean isSearchContextMissing(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        if (!(cause instanceof ElasticsearchException ee) || ee.error() == null) {
+            return false;
+        }
+        // Usually wrapped in a search_phase_execution_exception
+        return SEARCH_CONTEXT_MISSING.equals(ee.error().type())
+                || ee.error().rootCause().stream().map(ErrorCause::type).anyMatch(SEARCH_CONTEXT_MISSING::equals);
+    }
+
+    private void closePointInTime(String pointInTimeId) {
+        asyncClient.closePointInTime(r -> r.id(pointInTimeId))
+                .exceptionally(e -> {
+                    // It expires on its own after the keep-alive
+                    log.warn("Failed to close point-in-time after last cursor page: {}", e.getMessage());
+                    return null;
+                });
+    }
+
+    private Time keepAlive() {
+        return Time.of(t -> t.time(keepAliveMs + "ms"));
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private List<AlertDocument> documents(SearchResponse<Map> response) {
+        return response.hits().hits().stream()
+                .map(hit -> documentReader.read(hit.id(), (Map<String, Object>) hit.source()))
+                .toList();
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static long totalHits(SearchResponse<Map> response, boolean trackTotalHits) {
+        return trackTotalHits && response.hits().total() != null ? response.hits().total().value() : -1;
+    }
+
+    private static List<SortOptions> sortOptions(Sort sort) {
+        return sort.stream()
+                .map(order -> SortOptions.of(s -> s.field(f -> f
+                        .field(order.getProperty())
+                        .order(order.isAscending() ? SortOrder.Asc : SortOrder.Desc))))
+                .toList();
+    }
+
+    private static FieldValue toFieldValue(Object value) {
+        if (value == null) {
+            return FieldValue.NULL;
+        }
+        if (value instanceof Long l) {
+            return FieldValue.of(l);
+        }
+        if (value instanceof Number n) {
+            return FieldValue.of(n.doubleValue());
+        }
+        if (value instanceof Boolean b) {
+            return FieldValue.of(b);
+        }
+        return FieldValue.of(value.toString());
+    }
+}
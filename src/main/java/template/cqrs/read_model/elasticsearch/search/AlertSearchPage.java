@@ -0,0 +1,20 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import lombok.Value;
+import template.cqrs.read_model.elasticsearch.document.AlertDocument;
+
+import java.util.List;
+
+/**
+ * One page of alert search results as returned by the {@link AlertSearchExecutor}.
+ */
+@Value
+public class AlertSearchPage {
+    List<AlertDocument> documents;
+    int pageNumber;
+    int pageSize;
+    long totalHits; // -1 when total hit tracking was disabled
+    boolean last;
+    String nextCursor; // null for offset paging and on the last cursor page
+    String checkpoint; // nextCursor without the point-in-time; resumes on a new one
+}
@@ -0,0 +1,107 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.json.JsonData;
+import org.springframework.data.domain.Sort;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+import template.cqrs.read_model.elasticsearch.document.AlertDetailFields;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Translates {@link AlertSearchCriteria} into a single Elasticsearch bool query.
+ * <p>
+ * Structured criteria (status, severity, assignee, source, creation time, details) go into the {@code filter} clause: they
+ * are not scored and Elasticsearch can cache them per segment. Only the keyword is a scored {@code must} clause.
+ */
+public final class AlertSearchQueries {
+
+    public static final Sort DEFAULT_SORT = Sort.by("createdAt").descending();
+
+    // Keyword and date fields only; sorting on the analyzed text fields is not supported by the mapping
+    private static final Set<String> SORTABLE_FIELDS = Set.of(
+            "createdAt", "updatedAt", "eventTimestamp", "acknowledgedAt", "resolvedAt", "closedAt", "assignedAt",
+            "severity", "status", "source", "assignee");
+
+    private AlertSearchQueries() {
+    }
+
+    /**
+     * @param detailFields resolves the field each detail filter is matched on (hot key or flattened details)
+     */
+    public static Query toQuery(AlertSearchCriteria criteria, AlertDetailFields detailFields) {
+        if (criteria == null) {
+            return Query.of(q -> q.matchAll(m -> m));
+        }
+        List<Query> filters = new ArrayList<>();
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            filters.add(terms("status", criteria.getStatuses().stream().map(Enum::name).toList()));
+        }
+        if (criteria.getSeverities() != null && !criteria.getSeverities().isEmpty()) {
+            filters.add(terms("severity", criteria.getSeverities().stream().map(Enum::name).toList()));
+        }
+        if (hasText(criteria.getAssignee())) {
+            filters.add(Query.of(q -> q.term(t -> t.field("assignee").value(criteria.getAssignee()))));
+        }
+        if (hasText(criteria.getSource())) {
+            filters.add(Query.of(q -> q.term(t -> t.field("source").value(criteria.getSource()))));
+        }
+        if (criteria.getCreatedFrom() != null || criteria.getCreatedTo() != null) {
+            filters.add(Query.of(q -> q.range(r -> {
+                r.field("createdAt");
+                if (criteria.getCreatedFrom() != null) {
+                    r.gte(JsonData.of(criteria.getCreatedFrom().toString()));
+                }
+                if (criteria.getCreatedTo() != null) {
+                    r.lte(JsonData.of(criteria.getCreatedTo().toString()));
+                }
+                return r;
+            })));
+        }
+
+        if (criteria.getDetails() != null) {
+            criteria.getDetails().forEach((key, value) -> filters.add(
+                    Query.of(q -> q.term(t -> t.field(detailFields.filterField(key)).value(value)))));
+        }
+
+        List<Query> scored = new ArrayList<>();
+        if (hasText(criteria.getKeyword())) {
+            scored.add(Query.of(q -> q.multiMatch(m -> m
+                    .query(criteria.getKeyword())
+                    .fields("description", "source")
+                    .type(TextQueryType.BestFields))));
+        }
+        return Query.of(q -> q.bool(b -> b.filter(filters).must(scored)));
+    }
+
+    /**
+     * Resolves a requested sort, defaulting to {@link #DEFAULT_SORT}.
+     *
+     * @throws IllegalArgumentException if the field is not sortable or the direction is unknown
+     */
+    public static Sort toSort(String field, String direction) {
+        if (!hasText(field)) {
+            return DEFAULT_SORT;
+        }
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new IllegalArgumentException("Unsupported sort field: " + field + ", expected one of " + SORTABLE_FIELDS);
+        }
+        Sort.Direction sortDirection = hasText(direction) ? Sort.Direction.fromString(direction) : Sort.Direction.DESC;
+        Sort sort = Sort.by(sortDirection, field);
+        // Keep equal values in a stable, most-recent-first order for offset paging
+        return "createdAt".equals(field) ? sort : sort.and(DEFAULT_SORT);
+    }
+
+    private static Query terms(String field, List<String> values) {
+        List<FieldValue> fieldValues = values.stream().map(FieldValue::of).toList();
+        return Query.of(q -> q.terms(t -> t.field(field).terms(v -> v.value(fieldValues))));
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
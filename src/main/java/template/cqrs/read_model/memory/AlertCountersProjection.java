@@ -0,0 +1,163 @@
+package template.cqrs.read_model.memory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.ResetHandler;
+import org.axonframework.eventhandling.Timestamp;
+import org.axonframework.queryhandling.QueryHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.FindAlertCountersQuery;
+import template.cqrs.domain.model.alert.dto.AlertCountersDto;
+import template.cqrs.domain.model.alert.events.*;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory status x severity x source counters for dashboard totals, answered without touching Elasticsearch.
+ * <p>
+ * Runs in its own processing group with an in-memory token store (see {@code InMemoryProjectionConfig}), so every
+ * application start rebuilds the counters by replaying the event store. Cells are {@link LongAdder}s in a
+ * concurrent map: the single event processor thread moves an alert between cells while queries read concurrently
+ * without locks. A query may observe an alert mid-move (briefly counted in neither or both cells), never a torn
+ * count. Alerts whose events were moved to the cold archive replay as a single {@link AlertStateRestoredEvent}.
+ * <p>
+ * Only alerts that can still change cell are tracked per alert. {@code DELETED} is final, so a deleted alert is
+ * counted and then forgotten. With archival enabled a deleted alert is forgotten on its restored-state event
+ * instead, which the archive appends after the deletion and which must not count the alert a second time.
+ */
+@Component
+@ProcessingGroup(AlertCountersProjection.PROCESSING_GROUP)
+@Slf4j
+public class AlertCountersProjection {
+
+    public static final String PROCESSING_GROUP = "alert-counters-group";
+
+    private final Map<CounterKey, LongAdder> counters = new ConcurrentHashMap<>();
+    private final Map<UUID, CounterKey> alertCells = new ConcurrentHashMap<>();
+    private volatile Instant lastEventAt;
+
+    @Value("${app.event-store.archive.enabled:false}")
+    private boolean archiveEnabled; // Deleted alerts then still receive an AlertStateRestoredEvent
+
+    @EventHandler
+    public void on(AlertCreatedEvent event, @Timestamp Instant timestamp) {
+        move(event.getAlertId(), new CounterKey(event.getInitialStatus(), event.getSeverity(), event.getSource()), timestamp);
+    }
+
+    @EventHandler
+    public void on(AlertUpdatedEvent event, @Timestamp Instant timestamp) {
+        CounterKey current = alertCells.get(event.getAlertId());
+        if (current != null && event.getSeverity() != null) {
+            move(event.getAlertId(), current.withSeverity(event.getSeverity()), timestamp);
+        }
+    }
+
+    @EventHandler
+    public void on(AlertAcknowledgedEvent event, @Timestamp Instant timestamp) {
+        changeStatus(event.getAlertId(), event.getNewStatus(), timestamp);
+    }
+
+    @EventHandler
+    public void on(AlertResolvedEvent event, @Timestamp Instant timestamp) {
+        changeStatus(event.getAlertId(), event.getNewStatus(), timestamp);
+    }
+
+    @EventHandler
+    public void on(AlertClosedEvent event, @Timestamp Instant timestamp) {
+        changeStatus(event.getAlertId(), event.getNewStatus(), timestamp);
+    }
+
+    @EventHandler
+    public void on(AlertDeletedEvent event, @Timestamp Instant timestamp) {
+        changeStatus(event.getAlertId(), event.getNewStatus(), timestamp);
+        if (!archiveEnabled) {
+            alertCells.remove(event.getAlertId());
+        }
+    }
+
+    @EventHandler
+    public void on(AlertStateRestoredEvent event, @Timestamp Instant timestamp) {
+        move(event.getAlertId(), new CounterKey(event.getStatus(), event.getSeverity(), event.getSource()), timestamp);
+        if (event.getStatus() == AlertStatus.DELETED) {
+            alertCells.remove(event.getAlertId());
+        }
+    }
+
+    int trackedAlertCount() {
+        return alertCells.size();
+    }
+
+    @ResetHandler
+    public void onReset() {
+        log.info("Resetting alert counters.");
+        counters.clear();
+        alertCells.clear();
+        lastEventAt = null;
+    }
+
+    @QueryHandler
+    public AlertCountersDto handle(FindAlertCountersQuery query) {
+        Map<AlertStatus, Long> byStatus = new EnumMap<>(AlertStatus.class);
+        Map<AlertStatus, Map<AlertSeverity, Long>> byStatusAndSeverity = new EnumMap<>(AlertStatus.class);
+        Map<String, Map<AlertStatus, Long>> bySourceAndStatus = new TreeMap<>();
+        long total = 0;
+        for (Map.Entry<CounterKey, LongAdder> cell : counters.entrySet()) {
+            CounterKey key = cell.getKey();
+            long count = cell.getValue().sum();
+            if (count == 0 || (query.getSource() != null && !query.getSource().equals(key.source()))) {
+                continue;
+            }
+            total += count;
+            byStatus.merge(key.status(), count, Long::sum);
+            byStatusAndSeverity.computeIfAbsent(key.status(), s -> new EnumMap<>(AlertSeverity.class))
+                    .merge(key.severity(), count, Long::sum);
+            bySourceAndStatus.computeIfAbsent(String.valueOf(key.source()), s -> new EnumMap<>(AlertStatus.class))
+                    .merge(key.status(), count, Long::sum);
+        }
+        return AlertCountersDto.builder()
+                .total(total)
+                .byStatus(byStatus)
+                .byStatusAndSeverity(byStatusAndSeverity)
+                .bySourceAndStatus(bySourceAndStatus)
+                .lastEventAt(lastEventAt)
+                .build();
+    }
+
+    private void changeStatus(UUID alertId, AlertStatus newStatus, Instant timestamp) {
+        CounterKey current = alertCells.get(alertId);
+        if (current == null) {
+            log.debug("No counter cell for alert {} (created before the replayed history); ignoring status change.", alertId);
+            return;
+        }
+        move(alertId, current.withStatus(newStatus), timestamp);
+    }
+
+    private void move(UUID alertId, CounterKey target, Instant timestamp) {
+        counters.computeIfAbsent(target, k -> new LongAdder()).increment();
+        CounterKey previous = alertCells.put(alertId, target);
+        if (previous != null) {
+            counters.get(previous).decrement();
+        }
+        lastEventAt = timestamp;
+    }
+
+    private record CounterKey(AlertStatus status, AlertSeverity severity, String source) {
+        CounterKey withStatus(AlertStatus newStatus) {
+            return new CounterKey(newStatus, severity, source);
+        }
+
+        CounterKey withSeverity(AlertSeverity newSeverity) {
+            return new CounterKey(status, newSeverity, source);
+        }
+    }
+}
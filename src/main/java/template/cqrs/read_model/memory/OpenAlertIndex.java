@@ -0,0 +1,426 @@
+package template.cqrs.read_model.memory;
+
+import lombok.extern.slf4j.Slf4j;
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.config.ProcessingGroup;
+import org.axonframework.eventhandling.EventHandler;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.ResetHandler;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+import template.cqrs.domain.model.alert.events.*;
+import template.cqrs.domain.model.alert.value_objects.AlertNoteDto;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+import template.cqrs.read_model.elasticsearch.search.AlertCriteriaMatcher;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.UnaryOperator;
+
+/**
+ * Optional in-memory read model of the open (non-terminal) alerts, so the hot "what is open right now" queries are
+ * answered without Elasticsearch. Enabled with {@code app.query.open-alerts.enabled=true}.
+ * <p>
+ * Alerts are kept as full {@link AlertDto}s and indexed in {@link ConcurrentSkipListSet}s ordered by
+ * {@code createdAt} descending: all open alerts, per status, per severity, per assignee and per source. A query
+ * walks the most selective index that applies, narrowed to its {@code createdAt} range with {@code subSet}, and
+ * filters the rest in memory. Closed and deleted alerts leave the model, so its
+ * size follows the open working set rather than the history.
+ * <p>
+ * Like the other in-memory projections it replays the event store at startup; {@link #find} declines to answer
+ * until the processor has caught up, and callers then fall back to Elasticsearch. Once caught up, the model can be
+ * slightly ahead of the Elasticsearch projection, which writes in batches.
+ */
+@Component
+@ConditionalOnProperty(name = "app.query.open-alerts.enabled", havingValue = "true")
+@ProcessingGroup(OpenAlertIndex.PROCESSING_GROUP)
+@Slf4j
+public class OpenAlertIndex {
+
+    public static final String PROCESSING_GROUP = "open-alerts-group";
+
+    private static final Set<AlertStatus> OPEN_STATUSES =
+            EnumSet.of(AlertStatus.ACTIVE, AlertStatus.ACKNOWLEDGED, AlertStatus.RESOLVED);
+    private static final Comparator<Entry> NEWEST_FIRST = Comparator
+            .comparing(Entry::createdAt, Comparator.reverseOrder())
+            .thenComparing(Entry::alertId);
+    // Bounds of the entries sharing one createdAt
+    private static final UUID MIN_ID = new UUID(Long.MIN_VALUE, Long.MIN_VALUE);
+    private static final UUID MAX_ID = new UUID(Long.MAX_VALUE, Long.MAX_VALUE);
+
+    private final ObjectProvider<EventProcessingConfiguration> eventProcessingConfiguration;
+
+    private final Map<UUID, AlertDto> alerts = new ConcurrentHashMap<>();
+    private final NavigableSet<Entry> all = new ConcurrentSkipListSet<>(NEWEST_FIRST);
+    private final Map<AlertStatus, NavigableSet<Entry>> byStatus = new EnumMap<>(AlertStatus.class);
+    private final Map<AlertSeverity, NavigableSet<Entry>> bySeverity = new EnumMap<>(AlertSeverity.class);
+    private final Map<String, NavigableSet<Entry>> byAssignee = new ConcurrentHashMap<>();
+    private final Map<String, NavigableSet<Entry>> bySource = new ConcurrentHashMap<>();
+
+    public OpenAlertIndex(ObjectProvider<EventProcessingConfiguration> eventProcessingConfiguration) {
+        this.eventProcessingConfiguration = eventProcessingConfiguration;
+        for (AlertStatus status : OPEN_STATUSES) {
+            byStatus.put(status, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        }
+        for (AlertSeverity severity : AlertSeverity.values()) {
+            bySeverity.put(severity, new ConcurrentSkipListSet<>(NEWEST_FIRST));
+        }
+    }
+
+    // --- Event handlers (single processor thread) ---
+
+    @EventHandler
+    public void on(AlertCreatedEvent event) {
+        if (!OPEN_STATUSES.contains(event.getInitialStatus())) {
+            return;
+        }
+        AlertDto alert = AlertDto.builder()
+                .alertId(event.getAlertId())
+                .severity(event.getSeverity())
+                .description(event.getDescription())
+                .source(event.getSource())
+                .details(event.getDetails())
+                .status(event.getInitialStatus())
+                .createdAt(event.getCreatedAt())
+                .eventTimestamp(event.getEventTimestamp())
+                .updatedAt(event.getCreatedAt())
+                .initiatedBy(event.getInitiatedBy())
+                .noteCount(0)
+                .build();
+        alerts.put(alert.getAlertId(), alert);
+        index(alert);
+    }
+
+    @EventHandler
+    public void on(AlertUpdatedEvent event) {
+        update(event.getAlertId(), alert -> alert.toBuilder()
+                .severity(event.getSeverity())
+                .description(event.getDescription())
+                .details(event.getDetails())
+                .updatedAt(event.getUpdatedAt())
+                .updatedBy(event.getUpdatedBy())
+                .build());
+    }
+
+    @EventHandler
+    public void on(AlertAcknowledgedEvent event) {
+        update(event.getAlertId(), alert -> alert.toBuilder()
+                .status(event.getNewStatus())
+                .acknowledgedAt(event.getAcknowledgedAt())
+                .acknowledgedBy(event.getAcknowledgedBy())
+                .acknowledgementNotes(event.getNotes() != null ? event.getNotes() : "")
+                .updatedAt(event.getAcknowledgedAt())
+                .build());
+    }
+
+    @EventHandler
+    public void on(AlertResolvedEvent event) {
+        update(event.getAlertId(), alert -> alert.toBuilder()
+                .status(event.getNewStatus())
+                .resolvedAt(event.getResolvedAt())
+                .resolvedBy(event.getResolvedBy())
+                .resolutionDetails(event.getResolutionDetails())
+                .updatedAt(event.getResolvedAt())
+                .build());
+    }
+
+    @EventHandler
+    public void on(AlertAssignedEvent event) {
+        update(event.getAlertId(), alert -> alert.toBuilder()
+                .assignee(event.getAssignee())
+                .assignedAt(event.getAssignedAt())
+                .assignedBy(event.getAssignedBy())
+                .updatedAt(event.getAssignedAt())
+                .build());
+    }
+
+    @EventHandler
+    public void on(NoteAddedToAlertEvent event) {
+        update(event.getAlertId(), alert -> alert.toBuilder()
+                .noteCount(alert.getNoteCount() != null ? alert.getNoteCount() + 1 : 1)
+                .latestNote(event.getNote())
+                .updatedAt(event.getNote().getTimestamp())
+                .build());
+    }
+
+    @EventHandler
+    public void on(AlertClosedEvent event) {
+        remove(event.getAlertId());
+    }
+
+    @EventHandler
+    public void on(AlertDeletedEvent event) {
+        remove(event.getAlertId());
+    }
+
+    @EventHandler
+    public void on(AlertStateRestoredEvent event) {
+        // Archived alerts are terminal, but the handler does not rely on it
+        remove(event.getAlertId());
+        if (!OPEN_STATUSES.contains(event.getStatus())) {
+            return;
+        }
+        List<AlertNoteDto> notes = event.getNotes() != null ? event.getNotes() : List.of();
+        AlertDto alert = AlertDto.builder()
+                .alertId(event.getAlertId())
+                .severity(event.getSeverity())
+                .description(event.getDescription())
+                .source(event.getSource())
+                .details(event.getDetails())
+                .status(event.getStatus())
+                .createdAt(event.getCreatedAt())
+                .eventTimestamp(event.getEventTimestamp())
+                .updatedAt(event.getUpdatedAt())
+                .initiatedBy(event.getInitiatedBy())
+                .updatedBy(event.getUpdatedBy())
+                .acknowledgedAt(event.getAcknowledgedAt())
+                .acknowledgedBy(event.getAcknowledgedBy())
+                .acknowledgementNotes(event.getAcknowledgementNotes())
+                .resolvedAt(event.getResolvedAt())
+                .resolvedBy(event.getResolvedBy())
+                .resolutionDetails(event.getResolutionDetails())
+                .assignee(event.getAssignee())
+                .assignedAt(event.getAssignedAt())
+                .assignedBy(event.getAssignedBy())
+                .noteCount(notes.size())
+                .latestNote(notes.isEmpty() ? null : notes.get(notes.size() - 1))
+                .build();
+        alerts.put(alert.getAlertId(), alert);
+        index(alert);
+    }
+
+    @ResetHandler
+    public void onReset() {
+        log.info("Resetting open alert index.");
+        alerts.clear();
+        all.clear();
+        byStatus.values().forEach(Set::clear);
+        bySeverity.values().forEach(Set::clear);
+        byAssignee.clear();
+        bySource.clear();
+    }
+
+    // --- Queries ---
+
+    /**
+     * Answers a newest-first page of alerts matching the criteria, or returns empty when this model cannot answer
+     * it: criteria that include terminal statuses (or no status at all), a keyword, or a processor still replaying.
+     * <p>
+     * Counting the total walks every matching entry of the driving index. With {@code trackTotalHits == false} the
+     * walk stops at the first match past the page, and the page reports a total of {@code -1} like Elasticsearch.
+     */
+    public Optional<PagedAlertResponse> find(AlertSearchCriteria criteria, int pageNumber, int pageSize,
+                                             boolean trackTotalHits) {
+        if (criteria == null || criteria.getStatuses() == null || criteria.getStatuses().isEmpty()
+                || !OPEN_STATUSES.containsAll(criteria.getStatuses())
+                || hasText(criteria.getKeyword())
+                || !isCaughtUp()) {
+            return Optional.empty();
+        }
+
+        long skip = (long) pageNumber * pageSize;
+        long matched = 0;
+        boolean more = false;
+        List<AlertDto> page = new ArrayList<>(pageSize);
+        for (Entry entry : inCreatedRange(drivingIndex(criteria), criteria)) {
+            AlertDto alert = alerts.get(entry.alertId());
+            if (alert == null || !matches(criteria, alert)) {
+                continue; // Removed or re-indexed concurrently
+            }
+            if (matched >= skip && page.size() < pageSize) {
+                page.add(alert);
+            } else if (page.size() == pageSize) {
+                more = true;
+                if (!trackTotalHits) {
+                    break;
+                }
+            }
+            matched++;
+        }
+        long total = trackTotalHits ? matched : -1;
+        int totalPages = trackTotalHits ? (int) Math.ceil((double) total / pageSize) : -1;
+        return Optional.of(PagedAlertResponse.builder()
+                .alerts(page)
+                .pageNumber(pageNumber)
+                .pageSize(pageSize)
+                .totalElements(total)
+                .totalPages(totalPages)
+                .last(!more)
+                .build());
+    }
+
+    private NavigableSet<Entry> drivingIndex(AlertSearchCriteria criteria) {
+        if (hasText(criteria.getAssignee())) {
+            return byAssignee.getOrDefault(criteria.getAssignee(), Collections.emptyNavigableSet());
+        }
+        if (hasText(criteria.getSource())) {
+            return bySource.getOrDefault(criteria.getSource(), Collections.emptyNavigableSet());
+        }
+        if (criteria.getStatuses().size() == 1) {
+            return byStatus.get(criteria.getStatuses().get(0));
+        }
+        if (criteria.getSeverities() != null && criteria.getSeverities().size() == 1) {
+            return bySeverity.get(criteria.getSeverities().get(0));
+        }
+        return all;
+    }
+
+    /**
+     * The part of a newest-first index created within the criteria's range, without walking the rest.
+     */
+    private static NavigableSet<Entry> inCreatedRange(NavigableSet<Entry> index, AlertSearchCriteria criteria) {
+        Instant from = criteria.getCreatedFrom();
+        Instant to = criteria.getCreatedTo();
+        if (from == null && to == null) {
+            return index;
+        }
+        if (from != null && to != null) {
+            return from.isAfter(to)
+                    ? Collections.emptyNavigableSet()
+                    : index.subSet(new Entry(to, MIN_ID), true, new Entry(from, MAX_ID), true);
+        }
+        return to != null
+                ? index.tailSet(new Entry(to, MIN_ID), true)
+                : index.headSet(new Entry(from, MAX_ID), true);
+    }
+
+    private static boolean matches(AlertSearchCriteria criteria, AlertDto alert) {
+        if (!criteria.getStatuses().contains(alert.getStatus())) {
+            return false;
+        }
+        if (criteria.getSeverities() != null && !criteria.getSeverities().isEmpty()
+                && !criteria.getSeverities().contains(alert.getSeverity())) {
+            return false;
+        }
+        if (hasText(criteria.getAssignee()) && !criteria.getAssignee().equals(alert.getAssignee())) {
+            return false;
+        }
+        if (hasText(criteria.getSource()) && !criteria.getSource().equals(alert.getSource())) {
+            return false;
+        }
+        if (criteria.getCreatedFrom() != null && createdAt(alert).isBefore(criteria.getCreatedFrom())) {
+            return false;
+        }
+        if (criteria.getCreatedTo() != null && createdAt(alert).isAfter(criteria.getCreatedTo())) {
+            return false;
+        }
+        return AlertCriteriaMatcher.matchesDetails(criteria.getDetails(), alert.getDetails());
+    }
+
+    private boolean isCaughtUp() {
+        EventProcessingConfiguration configuration = eventProcessingConfiguration.getIfAvailable();
+        if (configuration == null) {
+            return false;
+        }
+        return configuration.eventProcessor(PROCESSING_GROUP, StreamingEventProcessor.class)
+                .map(processor -> {
+                    Map<Integer, EventTrackerStatus> status = processor.processingStatus();
+                    return !status.isEmpty() && status.values().stream().allMatch(EventTrackerStatus::isCaughtUp);
+                })
+                .orElse(false);
+    }
+
+    // --- Index maintenance ---
+
+    private void update(UUID alertId, UnaryOperator<AlertDto> change) {
+        AlertDto current = alerts.get(alertId);
+        if (current == null) {
+            return; // Closed, deleted, or created before the replayed history
+        }
+        AlertDto updated = change.apply(current);
+        if (!OPEN_STATUSES.contains(updated.getStatus())) {
+            remove(alertId);
+            return;
+        }
+        alerts.put(alertId, updated);
+        Entry entry = entry(updated);
+        if (current.getStatus() != updated.getStatus()) {
+            byStatus.get(updated.getStatus()).add(entry);
+            byStatus.get(current.getStatus()).remove(entry);
+        }
+        if (current.getSeverity() != updated.getSeverity()) {
+            bySeverity.get(updated.getSeverity()).add(entry);
+            bySeverity.get(current.getSeverity()).remove(entry);
+        }
+        if (!Objects.equals(current.getAssignee(), updated.getAssignee())) {
+            if (updated.getAssignee() != null) {
+                byAssignee.computeIfAbsent(updated.getAssignee(), a -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry);
+            }
+            removeFromKey(byAssignee, current.getAssignee(), entry);
+        }
+    }
+
+    private void index(AlertDto alert) {
+        Entry entry = entry(alert);
+        all.add(entry);
+        byStatus.get(alert.getStatus()).add(entry);
+        bySeverity.get(alert.getSeverity()).add(entry);
+        if (alert.getAssignee() != null) {
+            byAssignee.computeIfAbsent(alert.getAssignee(), a -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry);
+        }
+        if (alert.getSource() != null) {
+            bySource.computeIfAbsent(alert.getSource(), s -> new ConcurrentSkipListSet<>(NEWEST_FIRST)).add(entry);
+        }
+    }
+
+    private void remove(UUID alertId) {
+        AlertDto alert = alerts.remove(alertId);
+        if (alert == null) {
+            return;
+        }
+        Entry entry = entry(alert);
+        all.remove(entry);
+        byStatus.get(alert.getStatus()).remove(entry);
+        bySeverity.get(alert.getSeverity()).remove(entry);
+        removeFromKey(byAssignee, alert.getAssignee(), entry);
+        removeFromKey(bySource, alert.getSource(), entry);
+    }
+
+    private static void removeFromKey(Map<String, NavigableSet<Entry>> index, String key, Entry entry) {
+        if (key == null) {
+            return;
+        }
+        NavigableSet<Entry> entries = index.get(key);
+        if (entries != null) {
+            entries.remove(entry);
+            // Only the processor thread adds entries, so an empty set can be dropped safely
+            if (entries.isEmpty()) {
+                index.remove(key, entries);
+            }
+        }
+    }
+
+    private static Entry entry(AlertDto alert) {
+        return new Entry(createdAt(alert), alert.getAlertId());
+    }
+
+    private static Instant createdAt(AlertDto alert) {
+        return alert.getCreatedAt() != null ? alert.getCreatedAt() : Instant.EPOCH;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private record Entry(Instant createdAt, UUID alertId) {
+    }
+}
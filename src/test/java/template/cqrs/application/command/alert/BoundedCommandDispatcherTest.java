@@ -0,0 +1,146 @@
+package template.cqrs.application.command.alert;
+
+import org.axonframework.commandhandling.gateway.CommandGateway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BoundedCommandDispatcherTest {
+
+    @Mock
+    private CommandGateway commandGateway;
+
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+    private BoundedCommandDispatcher dispatcher;
+
+    @AfterEach
+    void tearDown() {
+        caller.shutdownNow();
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void returnsOneResultPerCommandInCommandOrder() throws Exception {
+        dispatcher = new BoundedCommandDispatcher(commandGateway, 2, 4);
+        when(commandGateway.<Object>send("first")).thenReturn(CompletableFuture.completedFuture("one"));
+        when(commandGateway.<Object>send("second")).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("rejected")));
+        when(commandGateway.<Object>send("third")).thenReturn(CompletableFuture.completedFuture("three"));
+
+        List<CompletableFuture<Object>> results = dispatcher.dispatchAll(List.of("first", "second", "third"));
+
+        assertEquals(3, results.size());
+        assertEquals("one", results.get(0).get(1, TimeUnit.SECONDS));
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> results.get(1).get(1, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, failure.getCause());
+        assertEquals("three", results.get(2).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void blocksTheCallerWhileItsWindowIsFull() throws Exception {
+        dispatcher = new BoundedCommandDispatcher(commandGateway, 1, 4);
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        when(commandGateway.<Object>send("first")).thenReturn(first);
+        when(commandGateway.<Object>send("second")).thenReturn(CompletableFuture.completedFuture("two"));
+        BoundedCommandDispatcher.Window window = dispatcher.openWindow();
+
+        window.send("first");
+        Future<CompletableFuture<Object>> second = caller.submit(() -> window.send("second"));
+
+        verify(commandGateway, after(200).never()).send("second");
+        assertFalse(second.isDone());
+
+        first.complete("one");
+
+        assertEquals("two", second.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void givesEveryWindowItsOwnPermits() throws Exception {
+        dispatcher = new BoundedCommandDispatcher(commandGateway, 1, 4);
+        when(commandGateway.<Object>send("first")).thenReturn(new CompletableFuture<>());
+        when(commandGateway.<Object>send("second")).thenReturn(CompletableFuture.completedFuture("two"));
+
+        dispatcher.openWindow().send("first");
+        CompletableFuture<Object> second = dispatcher.openWindow().send("second");
+
+        assertEquals("two", second.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void blocksEveryWindowWhileTheInstanceLimitIsReached() throws Exception {
+        dispatcher = new BoundedCommandDispatcher(commandGateway, 2, 2);
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        when(commandGateway.<Object>send("first")).thenReturn(first);
+        when(commandGateway.<Object>send("second")).thenReturn(new CompletableFuture<>());
+        when(commandGateway.<Object>send("third")).thenReturn(CompletableFuture.completedFuture("three"));
+
+        BoundedCommandDispatcher.Window busy = dispatcher.openWindow();
+        busy.send("first");
+        busy.send("second");
+        Future<CompletableFuture<Object>> third = caller.submit(() -> dispatcher.openWindow().send("third"));
+
+        verify(commandGateway, after(200).never()).send("third");
+
+        first.complete("one");
+
+        assertEquals("three", third.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void releasesThePermitsOfFailedCommands() throws Exception {
+        dispatcher = new BoundedCommandDispatcher(commandGateway, 1, 1);
+        when(commandGateway.<Object>send("failing")).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("rejected")));
+        when(commandGateway.<Object>send("throwing")).thenThrow(new IllegalArgumentException("invalid"));
+        when(commandGateway.<Object>send("next")).thenReturn(CompletableFuture.completedFuture("done"));
+        BoundedCommandDispatcher.Window window = dispatcher.openWindow();
+
+        CompletableFuture<Object> failing = window.send("failing");
+        assertThrows(ExecutionException.class, () -> failing.get(1, TimeUnit.SECONDS));
+        CompletableFuture<Object> throwing = window.send("throwing");
+        assertThrows(ExecutionException.class, () -> throwing.get(1, TimeUnit.SECONDS));
+        Future<CompletableFuture<Object>> next = caller.submit(() -> window.send("next"));
+
+        assertEquals("done", next.get(1, TimeUnit.SECONDS).get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void returnsTheWindowPermitOfACallerInterruptedWhileWaitingForTheInstanceLimit() throws Exception {
+        dispatcher = new BoundedCommandDispatcher(commandGateway, 2, 1);
+        when(commandGateway.<Object>send("first")).thenReturn(new CompletableFuture<>());
+        BoundedCommandDispatcher.Window window = dispatcher.openWindow();
+        window.send("first");
+
+        Future<CompletableFuture<Object>> second = caller.submit(() -> window.send("second"));
+        verify(commandGateway, after(200).never()).send("second");
+        second.cancel(true);
+        caller.shutdown();
+        assertTrue(caller.awaitTermination(1, TimeUnit.SECONDS));
+
+        Semaphore windowPermits = (Semaphore) ReflectionTestUtils.getField(window, "permits");
+        assertEquals(1, windowPermits.availablePermits());
+    }
+}
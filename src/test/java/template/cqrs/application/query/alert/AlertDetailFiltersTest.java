@@ -0,0 +1,48 @@
+package template.cqrs.application.query.alert;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertDetailFiltersTest {
+
+    @Test
+    void returnsNullWithoutFilters() {
+        assertNull(AlertDetailFilters.parse(null));
+        assertNull(AlertDetailFilters.parse(List.of()));
+    }
+
+    @Test
+    void parsesKeyValuePairsInOrder() {
+        Map<String, String> filters = AlertDetailFilters.parse(List.of("host:node-7", "labels.team:core", "url:http://x:80"));
+
+        assertEquals(List.of("host", "labels.team", "url"), List.copyOf(filters.keySet()));
+        assertEquals("node-7", filters.get("host"));
+        assertEquals("core", filters.get("labels.team"));
+        assertEquals("http://x:80", filters.get("url")); // Only the first colon separates key and value
+    }
+
+    @Test
+    void trimsKeysButKeepsValues() {
+        assertEquals(Map.of("host", " node-7"), AlertDetailFilters.parse(List.of(" host : node-7")));
+    }
+
+    @Test
+    void rejectsFiltersWithoutKeyOrValue() {
+        for (String filter : List.of("host", ":node-7", "host:")) {
+            assertThrows(IllegalArgumentException.class, () -> AlertDetailFilters.parse(List.of(filter)), filter);
+        }
+    }
+
+    @Test
+    void rejectsUnsupportedKeys() {
+        for (String filter : List.of("host name:x", "labels..team:x", ".host:x", "host.:x", "ho*st:x")) {
+            assertThrows(IllegalArgumentException.class, () -> AlertDetailFilters.parse(List.of(filter)), filter);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package template.cqrs.infrastructure.api.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AlertETagsTest {
+
+    private static final UUID FIRST = UUID.fromString("00000000-0000-0000-0000-000000000001");
+    private static final UUID SECOND = UUID.fromString("00000000-0000-0000-0000-000000000002");
+    private static final Instant UPDATED = Instant.parse("2024-02-10T12:00:00.123456Z");
+
+    @Test
+    void tagsAnAlertWithItsFullPrecisionUpdatedAtAndLastModified() {
+        AlertDto alert = alert(FIRST, UPDATED);
+
+        ResponseEntity<AlertDto> response = AlertETags.ok(alert);
+
+        assertEquals("\"2024-02-10T12:00:00.123456Z\"", response.getHeaders().getETag());
+        assertEquals(UPDATED.getEpochSecond() * 1000, response.getHeaders().getLastModified());
+        assertSame(alert, response.getBody());
+    }
+
+    @Test
+    void distinguishesUpdatesWithinTheSameSecond() {
+        assertNotEquals(AlertETags.ok(alert(FIRST, UPDATED)).getHeaders().getETag(),
+                AlertETags.ok(alert(FIRST, UPDATED.plusMillis(1))).getHeaders().getETag());
+    }
+
+    @Test
+    void answersNotModifiedWithTheSameValidators() {
+        ResponseEntity<AlertDto> response = AlertETags.notModified(UPDATED);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(AlertETags.ok(alert(FIRST, UPDATED)).getHeaders().getETag(), response.getHeaders().getETag());
+        assertEquals(UPDATED.getEpochSecond() * 1000, response.getHeaders().getLastModified());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    void matchesIfNoneMatchAgainstUpdatedAt() {
+        String etag = AlertETags.ok(alert(FIRST, UPDATED)).getHeaders().getETag();
+
+        assertTrue(AlertETags.isNotModified(ifNoneMatch(etag), UPDATED));
+        assertTrue(AlertETags.isNotModified(ifNoneMatch("W/" + etag), UPDATED));
+        assertTrue(AlertETags.isNotModified(ifNoneMatch("\"other\", " + etag), UPDATED));
+        assertTrue(AlertETags.isNotModified(ifNoneMatch("*"), UPDATED));
+        assertFalse(AlertETags.isNotModified(ifNoneMatch(etag), UPDATED.plusMillis(1)));
+    }
+
+    @Test
+    void matchesIfModifiedSinceToTheSecond() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfModifiedSince(UPDATED.getEpochSecond() * 1000);
+
+        assertTrue(AlertETags.isNotModified(headers, UPDATED));
+        assertTrue(AlertETags.isNotModified(headers, UPDATED.plusMillis(1))); // Same second: accepted resolution
+        assertFalse(AlertETags.isNotModified(headers, UPDATED.plusSeconds(1)));
+    }
+
+    @Test
+    void prefersIfNoneMatchOverIfModifiedSince() {
+        HttpHeaders headers = ifNoneMatch("\"other\"");
+        headers.setIfModifiedSince(UPDATED.getEpochSecond() * 1000);
+
+        assertFalse(AlertETags.isNotModified(headers, UPDATED));
+    }
+
+    @Test
+    void treatsRequestsWithoutValidatorsAsUnconditional() {
+        HttpHeaders headers = new HttpHeaders();
+        assertFalse(AlertETags.isConditional(headers));
+
+        headers.setIfModifiedSince(UPDATED.toEpochMilli());
+        assertTrue(AlertETags.isConditional(headers));
+        assertTrue(AlertETags.isConditional(ifNoneMatch("\"tag\"")));
+    }
+
+    @Test
+    void leavesAlertsWithoutUpdatedAtUntagged() {
+        assertNull(AlertETags.ok(alert(FIRST, null)).getHeaders().getETag());
+    }
+
+    @Test
+    void tagsEqualPagesEqually() {
+        assertEquals(etag(page("checkpoint", alert(FIRST, UPDATED), alert(SECOND, UPDATED))),
+                etag(page("checkpoint", alert(FIRST, UPDATED), alert(SECOND, UPDATED))));
+        assertTrue(etag(page(null, alert(FIRST, UPDATED))).startsWith("W/\""));
+    }
+
+    @Test
+    void ignoresThePointInTimeOfTheNextCursor() {
+        PagedAlertResponse page = page("checkpoint", alert(FIRST, UPDATED));
+        PagedAlertResponse samePageNewPointInTime = page("checkpoint", alert(FIRST, UPDATED));
+        page.setNextCursor("cursor-on-pit-1");
+        samePageNewPointInTime.setNextCursor("cursor-on-pit-2");
+
+        assertEquals(etag(page), etag(samePageNewPointInTime));
+    }
+
+    @Test
+    void changesThePageTagWithContentOrderOrPosition() {
+        String tag = etag(page("checkpoint", alert(FIRST, UPDATED), alert(SECOND, UPDATED)));
+
+        assertNotEquals(tag, etag(page("checkpoint", alert(FIRST, UPDATED), alert(SECOND, UPDATED.plusMillis(1)))));
+        assertNotEquals(tag, etag(page("checkpoint", alert(SECOND, UPDATED), alert(FIRST, UPDATED))));
+        assertNotEquals(tag, etag(page("other", alert(FIRST, UPDATED), alert(SECOND, UPDATED))));
+        assertNotEquals(tag, etag(page("checkpoint", alert(FIRST, UPDATED))));
+    }
+
+    @Test
+    void leavesPagesWithoutUpdatedAtUntagged() {
+        assertNull(etag(page(null, alert(FIRST, UPDATED), alert(SECOND, null))));
+        assertNull(etag(PagedAlertResponse.builder().build()));
+    }
+
+    private static String etag(PagedAlertResponse page) {
+        return AlertETags.ok(page).getHeaders().getETag();
+    }
+
+    private static PagedAlertResponse page(String checkpoint, AlertDto... alerts) {
+        return PagedAlertResponse.builder()
+                .alerts(List.of(alerts))
+                .totalElements(alerts.length)
+                .checkpoint(checkpoint)
+                .build();
+    }
+
+    private static HttpHeaders ifNoneMatch(String value) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.IF_NONE_MATCH, value);
+        return headers;
+    }
+
+    private static AlertDto alert(UUID alertId, Instant updatedAt) {
+        return AlertDto.builder().alertId(alertId).updatedAt(updatedAt).build();
+    }
+}
@@ -0,0 +1,77 @@
+package template.cqrs.infrastructure.api.controller;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NdjsonLineReaderTest {
+
+    @Test
+    void splitsOnLfAndCrLf() throws IOException {
+        assertEquals(List.of(text("{\"a\":1}"), text("{\"b\":2}"), text("")),
+                readAll("{\"a\":1}\r\n{\"b\":2}\n\n", 100));
+    }
+
+    @Test
+    void returnsALastLineWithoutNewline() throws IOException {
+        assertEquals(List.of(text("one"), text("two")), readAll("one\ntwo", 100));
+    }
+
+    @Test
+    void returnsNothingForAnEmptyBody() throws IOException {
+        assertEquals(List.of(), readAll("", 100));
+    }
+
+    @Test
+    void decodesUtf8() throws IOException {
+        assertEquals(List.of(text("{\"description\":\"Température élevée ✓\"}")),
+                readAll("{\"description\":\"Température élevée ✓\"}\n", 100));
+    }
+
+    @Test
+    void skipsTheRestOfTooLongLines() throws IOException {
+        assertEquals(List.of(text("short"), new NdjsonLineReader.Line(null, true), text("next")),
+                readAll("short\n" + "x".repeat(50) + "\nnext\n", 10));
+    }
+
+    @Test
+    void acceptsLinesOfExactlyTheLimit() throws IOException {
+        assertEquals(List.of(text("x".repeat(10)), text("y".repeat(10))),
+                readAll("x".repeat(10) + "\n" + "y".repeat(10) + "\r\n", 10));
+        assertEquals(List.of(new NdjsonLineReader.Line(null, true)), readAll("x".repeat(11) + "\n", 10));
+    }
+
+    @Test
+    void keepsReturningNullAtTheEnd() throws IOException {
+        NdjsonLineReader reader = reader("one\n", 100);
+
+        assertEquals(text("one"), reader.next());
+        assertNull(reader.next());
+        assertNull(reader.next());
+    }
+
+    private static List<NdjsonLineReader.Line> readAll(String body, int maxLineBytes) throws IOException {
+        NdjsonLineReader reader = reader(body, maxLineBytes);
+        List<NdjsonLineReader.Line> lines = new ArrayList<>();
+        NdjsonLineReader.Line line;
+        while ((line = reader.next()) != null) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static NdjsonLineReader reader(String body, int maxLineBytes) {
+        return new NdjsonLineReader(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), maxLineBytes);
+    }
+
+    private static NdjsonLineReader.Line text(String text) {
+        return new NdjsonLineReader.Line(text, false);
+    }
+}
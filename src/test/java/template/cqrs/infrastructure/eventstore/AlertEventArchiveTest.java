@@ -0,0 +1,163 @@
+package template.cqrs.infrastructure.eventstore;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.EventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.eventsourcing.eventstore.EventStore;
+import org.axonframework.eventsourcing.eventstore.jpa.DomainEventEntry;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import template.cqrs.domain.model.alert.aggregate.AlertAggregate;
+import template.cqrs.domain.model.alert.events.AlertStateRestoredEvent;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertEventArchiveTest {
+
+    private static final UUID ALERT_ID = UUID.fromString("8f1f3f4e-3c1a-4b7e-9d2a-0c6f1e2d3b4a");
+    private static final String AGGREGATE_ID = ALERT_ID.toString();
+
+    private final Serializer serializer = JacksonSerializer.defaultSerializer();
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Mock
+    private EventStorageEngine eventStorageEngine;
+    @Mock
+    private EventStore eventStore;
+    @Mock
+    private EntityManager entityManager;
+    @Captor
+    private ArgumentCaptor<EventMessage<?>> appended;
+    @Captor
+    private ArgumentCaptor<DomainEventMessage<?>> storedSnapshot;
+
+    private AlertEventArchive archive;
+
+    @BeforeEach
+    void setUp() {
+        archive = new AlertEventArchive(jdbcTemplate, transactionManager, serializer, eventStorageEngine, eventStore);
+        ReflectionTestUtils.setField(archive, "entityManager", entityManager);
+        ReflectionTestUtils.setField(archive, "archiveSchema", "event_archive");
+    }
+
+    @Test
+    void archivesEventsCoveredByTheSnapshotAndAppendsTheRestoredState() {
+        when(eventStorageEngine.lastSequenceNumberFor(AGGREGATE_ID)).thenReturn(Optional.of(2L));
+        AlertAggregate aggregate = mock(AlertAggregate.class);
+        when(aggregate.getAlertId()).thenReturn(ALERT_ID);
+        when(aggregate.getStatus()).thenReturn(AlertStatus.CLOSED);
+        when(eventStorageEngine.readSnapshot(AGGREGATE_ID)).thenReturn(Optional.of(message(2, aggregate)));
+        TypedQuery<DomainEventEntry> select = typedQuery(List.of(
+                entry(0, "created"), entry(1, restoredState()), entry(2, "closed")));
+        when(entityManager.createQuery(startsWith("SELECT"), eq(DomainEventEntry.class))).thenReturn(select);
+        Query delete = mock(Query.class);
+        when(entityManager.createQuery(startsWith("DELETE"))).thenReturn(delete);
+        when(delete.setParameter(anyString(), any())).thenReturn(delete);
+        when(delete.executeUpdate()).thenReturn(3);
+
+        int moved = archive.archive(AGGREGATE_ID);
+
+        // The restored state left by an earlier archival is removed, but it is not history
+        assertEquals(2, moved);
+        verify(jdbcTemplate).update(startsWith("INSERT INTO event_archive.alert_event_stream"), eq(AGGREGATE_ID),
+                eq("AlertAggregate"), eq(0L), eq(2L), eq(2), any(Timestamp.class), any(byte[].class));
+        verify(delete).setParameter("seq", 2L);
+        InOrder order = inOrder(delete, eventStorageEngine);
+        order.verify(delete).executeUpdate();
+        order.verify(eventStorageEngine).appendEvents(appended.capture());
+        DomainEventMessage<?> restored = (DomainEventMessage<?>) appended.getValue();
+        assertEquals(3L, restored.getSequenceNumber());
+        AlertStateRestoredEvent payload = assertInstanceOf(AlertStateRestoredEvent.class, restored.getPayload());
+        assertEquals(ALERT_ID, payload.getAlertId());
+        assertEquals(AlertStatus.CLOSED, payload.getStatus());
+        verify(eventStorageEngine, never()).storeSnapshot(any());
+    }
+
+    @Test
+    void createsAMissingSnapshotAndKeepsTheEventsWhenItCannotBeConfirmed() {
+        when(eventStorageEngine.lastSequenceNumberFor(AGGREGATE_ID)).thenReturn(Optional.of(2L));
+        when(eventStorageEngine.readSnapshot(AGGREGATE_ID)).thenReturn(Optional.empty());
+        when(eventStorageEngine.readEvents(AGGREGATE_ID)).thenReturn(DomainEventStream.of(
+                LongStream.rangeClosed(0, 2).<DomainEventMessage<?>>mapToObj(seq -> message(seq, restoredState())).toList()));
+
+        int moved = archive.archive(AGGREGATE_ID);
+
+        assertEquals(0, moved);
+        verify(eventStorageEngine).storeSnapshot(storedSnapshot.capture());
+        assertEquals(2L, storedSnapshot.getValue().getSequenceNumber());
+        assertInstanceOf(AlertAggregate.class, storedSnapshot.getValue().getPayload());
+        verify(entityManager, never()).createQuery(anyString());
+        verify(eventStorageEngine, never()).appendEvents(anyList());
+        verify(eventStorageEngine, never()).appendEvents(any(EventMessage.class));
+    }
+
+    @Test
+    void leavesAlertsWithoutEventsAlone() {
+        when(eventStorageEngine.lastSequenceNumberFor(AGGREGATE_ID)).thenReturn(Optional.empty());
+
+        assertEquals(0, archive.archive(AGGREGATE_ID));
+        verify(eventStorageEngine, never()).readSnapshot(AGGREGATE_ID);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static TypedQuery<DomainEventEntry> typedQuery(List<DomainEventEntry> result) {
+        TypedQuery<DomainEventEntry> query = mock(TypedQuery.class);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(result);
+        return query;
+    }
+
+    private DomainEventEntry entry(long sequenceNumber, Object payload) {
+        return new DomainEventEntry(message(sequenceNumber, payload), serializer);
+    }
+
+    private static DomainEventMessage<?> message(long sequenceNumber, Object payload) {
+        return new GenericDomainEventMessage<>("AlertAggregate", AGGREGATE_ID, sequenceNumber, payload);
+    }
+
+    private static AlertStateRestoredEvent restoredState() {
+        return AlertStateRestoredEvent.builder()
+                .alertId(ALERT_ID)
+                .status(AlertStatus.CLOSED)
+                .notes(List.of())
+                .build();
+    }
+}
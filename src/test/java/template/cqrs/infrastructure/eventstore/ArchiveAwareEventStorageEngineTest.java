@@ -0,0 +1,92 @@
+package template.cqrs.infrastructure.eventstore;
+
+import org.axonframework.eventhandling.DomainEventMessage;
+import org.axonframework.eventhandling.GenericDomainEventMessage;
+import org.axonframework.eventsourcing.eventstore.DomainEventStream;
+import org.axonframework.eventsourcing.eventstore.EventStorageEngine;
+import org.axonframework.messaging.MetaData;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ArchiveAwareEventStorageEngineTest {
+
+    private static final String ALERT_ID = "8f1f3f4e-3c1a-4b7e-9d2a-0c6f1e2d3b4a";
+
+    @Mock
+    private EventStorageEngine delegate;
+    @Mock
+    private AlertEventArchive archive;
+    @Mock
+    private ObjectProvider<AlertEventArchive> archiveProvider;
+
+    private ArchiveAwareEventStorageEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new ArchiveAwareEventStorageEngine(delegate, archiveProvider);
+    }
+
+    @Test
+    void prependsArchivedEventsToAFullStreamLoad() {
+        when(delegate.readEvents(ALERT_ID, 0L)).thenReturn(DomainEventStream.of(stored(3)));
+        when(archiveProvider.getIfAvailable()).thenReturn(archive);
+        when(archive.readArchivedEvents(ALERT_ID)).thenReturn(
+                LongStream.range(0, 3).mapToObj(ArchiveAwareEventStorageEngineTest::archived).toList());
+
+        DomainEventStream stream = engine.readEvents(ALERT_ID, 0L);
+
+        assertEquals(List.of(0L, 1L, 2L, 3L), sequenceNumbers(stream));
+    }
+
+    @Test
+    void onlyPrependsArchivedEventsFromTheRequestedSequenceNumber() {
+        when(delegate.readEvents(ALERT_ID, 1L)).thenReturn(DomainEventStream.of(stored(3)));
+        when(archiveProvider.getIfAvailable()).thenReturn(archive);
+        when(archive.readArchivedEvents(ALERT_ID)).thenReturn(
+                LongStream.range(0, 3).mapToObj(ArchiveAwareEventStorageEngineTest::archived).toList());
+
+        assertEquals(List.of(1L, 2L, 3L), sequenceNumbers(engine.readEvents(ALERT_ID, 1L)));
+    }
+
+    @Test
+    void leavesLoadsFromASnapshotToTheEventStore() {
+        when(delegate.readEvents(ALERT_ID, 3L)).thenReturn(DomainEventStream.of(stored(3)));
+
+        assertEquals(List.of(3L), sequenceNumbers(engine.readEvents(ALERT_ID, 3L)));
+        verifyNoInteractions(archiveProvider, archive);
+    }
+
+    @Test
+    void returnsStoredEventsWhenArchivalIsDisabled() {
+        when(delegate.readEvents(ALERT_ID, 0L)).thenReturn(DomainEventStream.of(stored(3)));
+        when(archiveProvider.getIfAvailable()).thenReturn(null);
+
+        assertEquals(List.of(3L), sequenceNumbers(engine.readEvents(ALERT_ID, 0L)));
+    }
+
+    private static DomainEventMessage<?> stored(long sequenceNumber) {
+        return new GenericDomainEventMessage<>("AlertAggregate", ALERT_ID, sequenceNumber, "event-" + sequenceNumber);
+    }
+
+    private static ArchivedEvent archived(long sequenceNumber) {
+        return new ArchivedEvent(ALERT_ID, "AlertAggregate", sequenceNumber, "event-id-" + sequenceNumber,
+                Instant.EPOCH, String.class.getName(), "event-" + sequenceNumber, MetaData.emptyInstance());
+    }
+
+    private static List<Long> sequenceNumbers(DomainEventStream stream) {
+        return stream.asStream().map(DomainEventMessage::getSequenceNumber).toList();
+    }
+}
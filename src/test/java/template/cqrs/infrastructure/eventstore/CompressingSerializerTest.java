@@ -0,0 +1,114 @@
+package template.cqrs.infrastructure.eventstore;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.axonframework.serialization.SerializedObject;
+import org.axonframework.serialization.Serializer;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompressingSerializerTest {
+
+    private static final byte[] MAGIC = {0x00, 'Z', 'P'};
+
+    private final Serializer plain = JacksonSerializer.defaultSerializer();
+
+    @ParameterizedTest
+    @EnumSource(value = PayloadCompressionCodec.class, names = {"DEFLATE", "GZIP"})
+    void compressesLargePayloadsAndReadsThemBack(PayloadCompressionCodec codec) {
+        CompressingSerializer serializer = serializer(codec, 256);
+        Map<String, Object> payload = payload(100);
+
+        SerializedObject<byte[]> stored = serializer.serialize(payload, byte[].class);
+
+        byte[] uncompressed = plain.serialize(payload, byte[].class).getData();
+        assertTrue(stored.getData().length < uncompressed.length);
+        assertArrayEquals(MAGIC, Arrays.copyOf(stored.getData(), MAGIC.length));
+        assertEquals(codec.getId(), stored.getData()[MAGIC.length]);
+        assertEquals(payload, serializer.deserialize(stored));
+    }
+
+    @Test
+    void keepsPayloadsBelowTheThresholdPlain() {
+        CompressingSerializer serializer = serializer(PayloadCompressionCodec.DEFLATE, 1_000_000);
+        Map<String, Object> payload = payload(100);
+
+        SerializedObject<byte[]> stored = serializer.serialize(payload, byte[].class);
+
+        assertArrayEquals(plain.serialize(payload, byte[].class).getData(), stored.getData());
+        assertEquals(payload, serializer.deserialize(stored));
+    }
+
+    @Test
+    void readsPayloadsStoredBeforeCompressionWasEnabled() {
+        CompressingSerializer serializer = serializer(PayloadCompressionCodec.GZIP, 0);
+        Map<String, Object> payload = payload(100);
+
+        SerializedObject<byte[]> legacy = plain.serialize(payload, byte[].class);
+
+        assertEquals(payload, serializer.deserialize(legacy));
+        assertSame(legacy, CompressingSerializer.decompress(legacy));
+    }
+
+    @Test
+    void readsPayloadsStoredWithAnotherCodec() {
+        Map<String, Object> payload = payload(100);
+        SerializedObject<byte[]> stored = serializer(PayloadCompressionCodec.GZIP, 0).serialize(payload, byte[].class);
+
+        assertEquals(payload, serializer(PayloadCompressionCodec.DEFLATE, 0).deserialize(stored));
+        assertEquals(payload, serializer(PayloadCompressionCodec.NONE, 0).deserialize(stored));
+    }
+
+    @Test
+    void passesNonBinaryRepresentationsThrough() {
+        CompressingSerializer serializer = serializer(PayloadCompressionCodec.DEFLATE, 0);
+        Map<String, Object> payload = payload(100);
+
+        SerializedObject<String> stored = serializer.serialize(payload, String.class);
+
+        assertFalse(stored.getData().startsWith("\u0000"));
+        assertEquals(payload, serializer.deserialize(stored));
+    }
+
+    @ParameterizedTest
+    @EnumSource(PayloadCompressionCodec.class)
+    void codecsRoundTrip(PayloadCompressionCodec codec) {
+        byte[] data = "alert description ".repeat(50).getBytes(StandardCharsets.UTF_8);
+        byte[] compressed = codec.compress(data);
+        byte[] framed = new byte[compressed.length + 3];
+        System.arraycopy(compressed, 0, framed, 3, compressed.length);
+
+        assertArrayEquals(data, codec.decompress(framed, 3, compressed.length));
+        assertSame(codec, PayloadCompressionCodec.fromId(codec.getId()));
+    }
+
+    @Test
+    void rejectsUnknownCodecIds() {
+        assertThrows(IllegalArgumentException.class, () -> PayloadCompressionCodec.fromId((byte) 99));
+    }
+
+    private static CompressingSerializer serializer(PayloadCompressionCodec codec, int thresholdBytes) {
+        return new CompressingSerializer(JacksonSerializer.defaultSerializer(), codec, thresholdBytes,
+                new SimpleMeterRegistry(), "test");
+    }
+
+    private static Map<String, Object> payload(int repeats) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("description", "Disk usage above threshold on node-7 ".repeat(repeats));
+        payload.put("source", "Prometheus");
+        return payload;
+    }
+}
@@ -0,0 +1,125 @@
+package template.cqrs.infrastructure.eventstore;
+
+import org.axonframework.common.jdbc.ConnectionProvider;
+import org.axonframework.eventhandling.tokenstore.UnableToClaimTokenException;
+import org.axonframework.eventhandling.tokenstore.jdbc.JdbcTokenStore;
+import org.axonframework.serialization.json.JacksonSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ThrottledClaimJdbcTokenStoreTest {
+
+    private static final Duration CLAIM_TIMEOUT = Duration.ofSeconds(10);
+
+    @Mock
+    private ConnectionProvider connectionProvider;
+    @Mock
+    private Connection connection;
+    @Mock
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        lenient().when(connectionProvider.getConnection()).thenReturn(connection);
+        lenient().when(connection.prepareStatement(anyString())).thenReturn(statement);
+    }
+
+    @Test
+    void rejectsThresholdsOfHalfTheClaimTimeoutOrMore() {
+        assertThrows(IllegalArgumentException.class, () -> tokenStore(Duration.ofSeconds(5)));
+        assertThrows(IllegalArgumentException.class, () -> tokenStore(Duration.ofSeconds(-1)));
+    }
+
+    @Test
+    void answersRepeatedExtensionsWithinTheThresholdFromMemory() throws Exception {
+        when(statement.executeUpdate()).thenReturn(1);
+        ThrottledClaimJdbcTokenStore tokenStore = tokenStore(Duration.ofSeconds(4));
+
+        tokenStore.extendClaim("alerts", 0);
+        tokenStore.extendClaim("alerts", 0);
+        tokenStore.extendClaim("alerts", 0);
+
+        verify(statement, times(1)).executeUpdate();
+    }
+
+    @Test
+    void throttlesEverySegmentOfEveryProcessorSeparately() throws Exception {
+        when(statement.executeUpdate()).thenReturn(1);
+        ThrottledClaimJdbcTokenStore tokenStore = tokenStore(Duration.ofSeconds(4));
+
+        tokenStore.extendClaim("alerts", 0);
+        tokenStore.extendClaim("alerts", 1);
+        tokenStore.extendClaim("counters", 0);
+        tokenStore.extendClaim("alerts", 1);
+
+        verify(statement, times(3)).executeUpdate();
+    }
+
+    @Test
+    void writesEveryExtensionWithAZeroThreshold() throws Exception {
+        when(statement.executeUpdate()).thenReturn(1);
+        ThrottledClaimJdbcTokenStore tokenStore = tokenStore(Duration.ZERO);
+
+        tokenStore.extendClaim("alerts", 0);
+        tokenStore.extendClaim("alerts", 0);
+
+        verify(statement, times(2)).executeUpdate();
+    }
+
+    @Test
+    void writesTheNextExtensionAfterAReleasedClaim() throws Exception {
+        when(statement.executeUpdate()).thenReturn(1);
+        ThrottledClaimJdbcTokenStore tokenStore = tokenStore(Duration.ofSeconds(4));
+
+        tokenStore.extendClaim("alerts", 0);
+        tokenStore.releaseClaim("alerts", 0);
+        tokenStore.extendClaim("alerts", 0);
+
+        verify(statement, times(3)).executeUpdate(); // Extension, release, extension
+    }
+
+    @Test
+    void writesAgainOnceTheThresholdHasPassedAndForgetsALostClaim() throws Exception {
+        when(statement.executeUpdate()).thenReturn(1, 0, 1);
+        ThrottledClaimJdbcTokenStore tokenStore = tokenStore(Duration.ofSeconds(4));
+        tokenStore.extendClaim("alerts", 0);
+        lastClaimWrites(tokenStore).put("alerts#0", 0L); // Last write long past the threshold
+
+        assertThrows(UnableToClaimTokenException.class, () -> tokenStore.extendClaim("alerts", 0));
+        assertTrue(lastClaimWrites(tokenStore).isEmpty());
+
+        tokenStore.extendClaim("alerts", 0);
+        tokenStore.extendClaim("alerts", 0);
+        verify(statement, times(3)).executeUpdate();
+    }
+
+    private ThrottledClaimJdbcTokenStore tokenStore(Duration claimExtensionThreshold) {
+        JdbcTokenStore.Builder builder = JdbcTokenStore.builder()
+                .connectionProvider(connectionProvider)
+                .serializer(JacksonSerializer.defaultSerializer());
+        return new ThrottledClaimJdbcTokenStore(builder, CLAIM_TIMEOUT, claimExtensionThreshold);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> lastClaimWrites(ThrottledClaimJdbcTokenStore tokenStore) {
+        return (Map<String, Long>) ReflectionTestUtils.getField(tokenStore, "lastClaimWriteMs");
+    }
+}
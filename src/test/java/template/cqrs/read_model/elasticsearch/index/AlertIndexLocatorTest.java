@@ -0,0 +1,124 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import co.elastic.clients.elasticsearch.ElasticsearchAsyncClient;
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.MgetRequest;
+import co.elastic.clients.elasticsearch.core.MgetResponse;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertIndexLocatorTest {
+
+    private static final String CURRENT = "alerts-2026.10";
+    private static final String PREVIOUS = "alerts-2026.09";
+    private static final String OLDER = "alerts-2025.01";
+
+    @Mock
+    private ElasticsearchClient client;
+    @Mock
+    private ElasticsearchAsyncClient asyncClient;
+    @Mock
+    private AlertIndices alertIndices;
+
+    private AlertIndexLocator locator;
+
+    @BeforeEach
+    void setUp() {
+        locator = new AlertIndexLocator(client, asyncClient, alertIndices, new SimpleMeterRegistry(), 1000);
+    }
+
+    @Test
+    void answersRememberedAlertsWithoutRequests() {
+        locator.remember("a", CURRENT);
+
+        assertEquals(Map.of("a", CURRENT), locator.locate(List.of("a")));
+        verifyNoInteractions(client, asyncClient);
+    }
+
+    @Test
+    void getsRecentIndicesInRealTimeBeforeSearchingTheAlias() throws IOException {
+        when(alertIndices.recentIndices()).thenReturn(List.of(CURRENT, PREVIOUS));
+        when(client.mget(any(MgetRequest.class), eq(Void.class))).thenReturn(mget(
+                found(CURRENT, "a"), notFound(CURRENT, "b"), notFound(CURRENT, "c"),
+                notFound(PREVIOUS, "a"), notFound(PREVIOUS, "b"), notFound(PREVIOUS, "c")));
+        when(client.search(any(SearchRequest.class), eq(Void.class))).thenReturn(search(OLDER, "c"));
+
+        Map<String, String> located = locator.locate(List.of("a", "b", "c"));
+
+        assertEquals(Map.of("a", CURRENT, "c", OLDER), located);
+        ArgumentCaptor<MgetRequest> recent = ArgumentCaptor.forClass(MgetRequest.class);
+        verify(client).mget(recent.capture(), eq(Void.class));
+        assertEquals(6, recent.getValue().docs().size());
+        ArgumentCaptor<SearchRequest> older = ArgumentCaptor.forClass(SearchRequest.class);
+        verify(client).search(older.capture(), eq(Void.class));
+        assertEquals(List.of(AlertIndices.READ_ALIAS), older.getValue().index());
+        assertEquals(List.of("b", "c"), older.getValue().query().ids().values());
+
+        // Located alerts are remembered
+        assertEquals(Map.of("a", CURRENT, "c", OLDER), locator.locate(List.of("a", "c")));
+    }
+
+    @Test
+    void skipsTheSearchWhenTheRealTimeGetFoundEverything() throws IOException {
+        when(alertIndices.recentIndices()).thenReturn(List.of(CURRENT));
+        when(client.mget(any(MgetRequest.class), eq(Void.class))).thenReturn(mget(found(CURRENT, "a")));
+
+        assertEquals(Map.of("a", CURRENT), locator.locate(List.of("a")));
+        verify(client, never()).search(any(SearchRequest.class), eq(Void.class));
+    }
+
+    @Test
+    void locatesAsynchronouslyTheSameWay() {
+        when(alertIndices.recentIndices()).thenReturn(List.of(CURRENT));
+        when(asyncClient.mget(any(MgetRequest.class), eq(Void.class)))
+                .thenReturn(CompletableFuture.completedFuture(mget(notFound(CURRENT, "c"))));
+        when(asyncClient.search(any(SearchRequest.class), eq(Void.class)))
+                .thenReturn(CompletableFuture.completedFuture(search(OLDER, "c")));
+
+        assertEquals(Map.of("c", OLDER), locator.locateAsync(List.of("c")).join());
+    }
+
+    @SafeVarargs
+    private static MgetResponse<Void> mget(MultiGetResponseItem<Void>... items) {
+        return MgetResponse.of(r -> r.docs(List.of(items)));
+    }
+
+    private static MultiGetResponseItem<Void> found(String index, String id) {
+        return MultiGetResponseItem.of(i -> i.result(g -> g.index(index).id(id).found(true)));
+    }
+
+    private static MultiGetResponseItem<Void> notFound(String index, String id) {
+        return MultiGetResponseItem.of(i -> i.result(g -> g.index(index).id(id).found(false)));
+    }
+
+    private static SearchResponse<Void> search(String index, String id) {
+        return SearchResponse.of(r -> r
+                .took(1)
+                .timedOut(false)
+                .shards(s -> s.total(1).successful(1).failed(0))
+                .hits(h -> h.hits(List.of(Hit.<Void>of(hit -> hit.index(index).id(id))))));
+    }
+}
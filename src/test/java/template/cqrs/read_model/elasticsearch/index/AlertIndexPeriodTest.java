@@ -0,0 +1,41 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlertIndexPeriodTest {
+
+    private static final Instant INSTANT = Instant.parse("2024-02-29T23:59:59.999Z");
+
+    @Test
+    void formatsInUtc() {
+        assertEquals("2024.02", AlertIndexPeriod.MONTHLY.format(INSTANT));
+        assertEquals("2024.02.29", AlertIndexPeriod.DAILY.format(INSTANT));
+    }
+
+    @Test
+    void findsPeriodStarts() {
+        assertEquals(Instant.parse("2024-02-01T00:00:00Z"), AlertIndexPeriod.MONTHLY.start(INSTANT));
+        assertEquals(Instant.parse("2024-02-29T00:00:00Z"), AlertIndexPeriod.DAILY.start(INSTANT));
+    }
+
+    @Test
+    void stepsToTheNextPeriod() {
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), AlertIndexPeriod.MONTHLY.next(Instant.parse("2024-02-01T00:00:00Z")));
+        assertEquals(Instant.parse("2025-01-01T00:00:00Z"), AlertIndexPeriod.MONTHLY.next(Instant.parse("2024-12-01T00:00:00Z")));
+        assertEquals(Instant.parse("2024-03-01T00:00:00Z"), AlertIndexPeriod.DAILY.next(Instant.parse("2024-02-29T00:00:00Z")));
+    }
+
+    @Test
+    void parsesOnlyItsOwnNames() {
+        assertEquals(Optional.of(Instant.parse("2024-02-01T00:00:00Z")), AlertIndexPeriod.MONTHLY.parse("2024.02"));
+        assertEquals(Optional.of(Instant.parse("2024-02-29T00:00:00Z")), AlertIndexPeriod.DAILY.parse("2024.02.29"));
+        assertEquals(Optional.empty(), AlertIndexPeriod.MONTHLY.parse("2024.02.29"));
+        assertEquals(Optional.empty(), AlertIndexPeriod.DAILY.parse("2024.02"));
+        assertEquals(Optional.empty(), AlertIndexPeriod.MONTHLY.parse("read"));
+    }
+}
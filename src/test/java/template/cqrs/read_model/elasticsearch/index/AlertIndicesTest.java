@@ -0,0 +1,81 @@
+package template.cqrs.read_model.elasticsearch.index;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlertIndicesTest {
+
+    private final AlertIndices indices = indices(AlertIndexPeriod.MONTHLY, 3);
+
+    @Test
+    void namesIndicesByCreationPeriod() {
+        assertEquals("alerts-2024.02", indices.indexFor(Instant.parse("2024-02-10T12:00:00Z")));
+        assertEquals(Optional.of(Instant.parse("2024-02-01T00:00:00Z")), indices.periodStart("alerts-2024.02"));
+        assertEquals(Optional.empty(), indices.periodStart(AlertIndices.READ_ALIAS));
+        assertEquals(Optional.empty(), indices.periodStart("notes-2024.02"));
+    }
+
+    @Test
+    void searchesTheAliasWithoutALowerBound() {
+        assertEquals(List.of(AlertIndices.READ_ALIAS), indices.readTargets(null));
+        assertEquals(List.of(AlertIndices.READ_ALIAS), indices.readTargets(AlertSearchCriteria.builder().build()));
+        assertEquals(List.of(AlertIndices.READ_ALIAS), indices.readTargets(AlertSearchCriteria.builder()
+                .createdTo(Instant.parse("2024-02-10T00:00:00Z"))
+                .build()));
+    }
+
+    @Test
+    void listsThePeriodIndicesOverlappingTheRange() {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .createdFrom(Instant.parse("2024-01-31T23:00:00Z"))
+                .createdTo(Instant.parse("2024-03-01T00:00:00Z"))
+                .build();
+
+        assertEquals(List.of("alerts-2024.01", "alerts-2024.02", "alerts-2024.03"), indices.readTargets(criteria));
+    }
+
+    @Test
+    void searchesTheAliasForRangesSpanningTooManyPeriods() {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .createdFrom(Instant.parse("2024-01-15T00:00:00Z"))
+                .createdTo(Instant.parse("2024-04-15T00:00:00Z"))
+                .build();
+
+        assertEquals(List.of(AlertIndices.READ_ALIAS), indices.readTargets(criteria));
+    }
+
+    @Test
+    void keepsEmptyRangesOnOneIndex() {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .createdFrom(Instant.parse("2024-02-10T00:00:00Z"))
+                .createdTo(Instant.parse("2024-02-01T00:00:00Z"))
+                .build();
+
+        assertEquals(List.of("alerts-2024.02"), indices.readTargets(criteria));
+    }
+
+    @Test
+    void usesDailyIndicesWhenConfigured() {
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .createdFrom(Instant.parse("2024-02-28T10:00:00Z"))
+                .createdTo(Instant.parse("2024-03-01T10:00:00Z"))
+                .build();
+
+        assertEquals(List.of("alerts-2024.02.28", "alerts-2024.02.29", "alerts-2024.03.01"),
+                indices(AlertIndexPeriod.DAILY, 10).readTargets(criteria));
+    }
+
+    private static AlertIndices indices(AlertIndexPeriod period, int maxPrunedIndices) {
+        AlertIndices indices = new AlertIndices();
+        ReflectionTestUtils.setField(indices, "period", period);
+        ReflectionTestUtils.setField(indices, "maxPrunedIndices", maxPrunedIndices);
+        return indices;
+    }
+}
@@ -0,0 +1,89 @@
+package template.cqrs.read_model.elasticsearch.search;
+
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AlertCursorCodecTest {
+
+    private static final Query OPEN = Query.of(q -> q.term(t -> t.field("status").value("OPEN")));
+    private static final Query CLOSED = Query.of(q -> q.term(t -> t.field("status").value("CLOSED")));
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private final AlertCursorCodec codec = new AlertCursorCodec(new ObjectMapper());
+    private final String hash = codec.queryHash(OPEN, NEWEST_FIRST, null);
+
+    @Test
+    void roundTripsCursorsAsUrlSafeStrings() {
+        AlertSearchCursor cursor = new AlertSearchCursor("pit+id/with==padding", List.of(1_717_000_000_000L, "a1b2c3"), hash);
+
+        String encoded = codec.encode(cursor);
+
+        assertFalse(encoded.contains("+") || encoded.contains("/") || encoded.contains("="));
+        assertEquals(cursor, codec.decode(encoded, hash));
+    }
+
+    @Test
+    void decodesSmallSortValuesAsLongs() {
+        AlertSearchCursor cursor = new AlertSearchCursor("pit", List.of(3L, 42L), hash);
+
+        AlertSearchCursor decoded = codec.decode(codec.encode(cursor), hash);
+
+        assertEquals(List.of(3L, 42L), decoded.getSearchAfter());
+    }
+
+    @Test
+    void decodesCheckpointsWithoutPointInTime() {
+        AlertSearchCursor checkpoint = new AlertSearchCursor(null, List.of(1_717_000_000_000L, "a1b2c3"), hash);
+
+        AlertSearchCursor decoded = codec.decode(codec.encode(checkpoint), hash);
+
+        assertNull(decoded.getPointInTimeId());
+        assertEquals(checkpoint.getSearchAfter(), decoded.getSearchAfter());
+    }
+
+    @Test
+    void hashesQuerySortAndFields() {
+        assertEquals(hash, codec.queryHash(Query.of(q -> q.term(t -> t.field("status").value("OPEN"))), NEWEST_FIRST, null));
+        assertNotEquals(hash, codec.queryHash(CLOSED, NEWEST_FIRST, null));
+        assertNotEquals(hash, codec.queryHash(OPEN, Sort.by(Sort.Direction.ASC, "createdAt"), null));
+        assertNotEquals(hash, codec.queryHash(OPEN, NEWEST_FIRST, List.of("alertId", "status")));
+    }
+
+    @Test
+    void rejectsCursorsIssuedForAnotherQuery() {
+        String encoded = codec.encode(new AlertSearchCursor("pit", List.of(1L), hash));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(encoded, codec.queryHash(CLOSED, NEWEST_FIRST, null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> codec.decode(codec.encode(new AlertSearchCursor("pit", List.of(1L), null)), hash));
+    }
+
+    @Test
+    void rejectsMalformedCursors() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode("not a cursor!", hash));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(base64("{\"pointInTimeId\":"), hash));
+    }
+
+    @Test
+    void rejectsIncompleteCursors() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(base64("{\"pointInTimeId\":\"pit\"}"), hash));
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(base64("{\"searchAfter\":[1]}"), hash));
+    }
+
+    private static String base64(String json) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,88 @@
+package template.cqrs.read_model.memory;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import template.cqrs.application.query.alert.FindAlertCountersQuery;
+import template.cqrs.domain.model.alert.dto.AlertCountersDto;
+import template.cqrs.domain.model.alert.events.AlertCreatedEvent;
+import template.cqrs.domain.model.alert.events.AlertDeletedEvent;
+import template.cqrs.domain.model.alert.events.AlertStateRestoredEvent;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AlertCountersProjectionTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AlertCountersProjection projection = new AlertCountersProjection();
+
+    @Test
+    void forgetsDeletedAlertsButKeepsCountingThem() {
+        UUID deleted = create();
+        UUID active = create();
+
+        projection.on(deletedEvent(deleted), NOW);
+
+        assertEquals(Map.of(AlertStatus.ACTIVE, 1L, AlertStatus.DELETED, 1L), counters().getByStatus());
+        assertEquals(1, projection.trackedAlertCount());
+        assertEquals(2, counters().getTotal());
+        projection.on(deletedEvent(active), NOW);
+        assertEquals(0, projection.trackedAlertCount());
+    }
+
+    @Test
+    void countsADeletedAlertOnceWhenItsArchivedStateIsAppended() {
+        ReflectionTestUtils.setField(projection, "archiveEnabled", true);
+        UUID alertId = create();
+        projection.on(deletedEvent(alertId), NOW);
+
+        projection.on(restoredEvent(alertId), NOW);
+
+        assertEquals(Map.of(AlertStatus.DELETED, 1L), counters().getByStatus());
+        assertEquals(0, projection.trackedAlertCount());
+    }
+
+    @Test
+    void countsADeletedAlertReplayedFromItsArchivedState() {
+        ReflectionTestUtils.setField(projection, "archiveEnabled", true);
+
+        projection.on(restoredEvent(UUID.randomUUID()), NOW);
+
+        assertEquals(Map.of(AlertStatus.DELETED, 1L), counters().getByStatus());
+        assertEquals(0, projection.trackedAlertCount());
+    }
+
+    private UUID create() {
+        UUID alertId = UUID.randomUUID();
+        projection.on(AlertCreatedEvent.builder()
+                .alertId(alertId)
+                .severity(AlertSeverity.HIGH)
+                .source("monitoring")
+                .initialStatus(AlertStatus.ACTIVE)
+                .build(), NOW);
+        return alertId;
+    }
+
+    private static AlertDeletedEvent deletedEvent(UUID alertId) {
+        return AlertDeletedEvent.builder().alertId(alertId).newStatus(AlertStatus.DELETED).deletedAt(NOW).build();
+    }
+
+    private static AlertStateRestoredEvent restoredEvent(UUID alertId) {
+        return AlertStateRestoredEvent.builder()
+                .alertId(alertId)
+                .severity(AlertSeverity.HIGH)
+                .source("monitoring")
+                .status(AlertStatus.DELETED)
+                .build();
+    }
+
+    private AlertCountersDto counters() {
+        return projection.handle(new FindAlertCountersQuery(null));
+    }
+}
@@ -0,0 +1,123 @@
+package template.cqrs.read_model.memory;
+
+import org.axonframework.config.EventProcessingConfiguration;
+import org.axonframework.eventhandling.EventTrackerStatus;
+import org.axonframework.eventhandling.StreamingEventProcessor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import template.cqrs.application.query.alert.AlertSearchCriteria;
+import template.cqrs.domain.model.alert.dto.AlertDto;
+import template.cqrs.domain.model.alert.dto.PagedAlertResponse;
+import template.cqrs.domain.model.alert.events.AlertClosedEvent;
+import template.cqrs.domain.model.alert.events.AlertCreatedEvent;
+import template.cqrs.domain.model.alert.value_objects.AlertSeverity;
+import template.cqrs.domain.model.alert.value_objects.AlertStatus;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OpenAlertIndexTest {
+
+    private static final Instant T0 = Instant.parse("2026-01-01T00:00:00Z");
+    private static final AlertSearchCriteria ACTIVE = AlertSearchCriteria.builder().statuses(List.of(AlertStatus.ACTIVE)).build();
+
+    private final EventTrackerStatus trackerStatus = mock(EventTrackerStatus.class);
+    private OpenAlertIndex index;
+    private final List<UUID> created = new ArrayList<>(); // Oldest first
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        StreamingEventProcessor processor = mock(StreamingEventProcessor.class);
+        when(processor.processingStatus()).thenReturn(Map.of(0, trackerStatus));
+        when(trackerStatus.isCaughtUp()).thenReturn(true);
+        EventProcessingConfiguration configuration = mock(EventProcessingConfiguration.class);
+        when(configuration.eventProcessor(OpenAlertIndex.PROCESSING_GROUP, StreamingEventProcessor.class))
+                .thenReturn(Optional.of(processor));
+        ObjectProvider<EventProcessingConfiguration> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(configuration);
+        index = new OpenAlertIndex(provider);
+        for (int i = 0; i < 5; i++) {
+            create(i % 2 == 0 ? "monitoring" : "billing", T0.plusSeconds(i));
+        }
+    }
+
+    @Test
+    void pagesNewestFirstWithTotals() {
+        PagedAlertResponse first = index.find(ACTIVE, 0, 2, true).orElseThrow();
+        PagedAlertResponse lastPage = index.find(ACTIVE, 2, 2, true).orElseThrow();
+
+        assertEquals(List.of(created.get(4), created.get(3)), ids(first));
+        assertEquals(5, first.getTotalElements());
+        assertEquals(3, first.getTotalPages());
+        assertFalse(first.isLast());
+        assertEquals(List.of(created.get(0)), ids(lastPage));
+        assertTrue(lastPage.isLast());
+    }
+
+    @Test
+    void stopsAfterThePageWhenTotalsAreNotTracked() {
+        PagedAlertResponse first = index.find(ACTIVE, 0, 2, false).orElseThrow();
+        PagedAlertResponse lastPage = index.find(ACTIVE, 2, 2, false).orElseThrow();
+
+        assertEquals(List.of(created.get(4), created.get(3)), ids(first));
+        assertEquals(-1, first.getTotalElements());
+        assertEquals(-1, first.getTotalPages());
+        assertFalse(first.isLast());
+        assertEquals(List.of(created.get(0)), ids(lastPage));
+        assertTrue(lastPage.isLast());
+    }
+
+    @Test
+    void narrowsBySourceAndCreatedRangeAndDropsClosedAlerts() {
+        index.on(AlertClosedEvent.builder().alertId(created.get(4)).newStatus(AlertStatus.CLOSED).build());
+        AlertSearchCriteria criteria = AlertSearchCriteria.builder()
+                .statuses(List.of(AlertStatus.ACTIVE))
+                .source("monitoring")
+                .createdFrom(T0.plusSeconds(1))
+                .build();
+
+        PagedAlertResponse page = index.find(criteria, 0, 10, true).orElseThrow();
+
+        assertEquals(List.of(created.get(2)), ids(page));
+        assertEquals(1, page.getTotalElements());
+    }
+
+    @Test
+    void declinesQueriesItCannotAnswer() {
+        AlertSearchCriteria closed = AlertSearchCriteria.builder().statuses(List.of(AlertStatus.CLOSED)).build();
+        AlertSearchCriteria keyword = AlertSearchCriteria.builder().statuses(List.of(AlertStatus.ACTIVE)).keyword("disk").build();
+
+        assertTrue(index.find(closed, 0, 10, true).isEmpty());
+        assertTrue(index.find(keyword, 0, 10, true).isEmpty());
+        when(trackerStatus.isCaughtUp()).thenReturn(false);
+        assertTrue(index.find(ACTIVE, 0, 10, true).isEmpty());
+    }
+
+    private void create(String source, Instant createdAt) {
+        UUID alertId = UUID.randomUUID();
+        index.on(AlertCreatedEvent.builder()
+                .alertId(alertId)
+                .severity(AlertSeverity.HIGH)
+                .source(source)
+                .initialStatus(AlertStatus.ACTIVE)
+                .createdAt(createdAt)
+                .build());
+        created.add(alertId);
+    }
+
+    private static List<UUID> ids(PagedAlertResponse page) {
+        return page.getAlerts().stream().map(AlertDto::getAlertId).toList();
+    }
+}